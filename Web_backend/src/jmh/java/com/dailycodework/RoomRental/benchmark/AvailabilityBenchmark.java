@@ -0,0 +1,80 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability checks as the booking count per room grows. {@code linearScan} is the old
+ * BookingService.roomIsAvailable approach over a room's loaded bookings; {@code index*} go through
+ * RoomAvailabilityIndex, which only inspects bookings that can reach the requested window.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+    private static final int ROOMS = 20;
+    private static final LocalDate FIRST_CHECK_IN = LocalDate.of(2030, 1, 1);
+
+    @Param({"10", "100", "1000", "10000"})
+    public int bookingsPerRoom;
+
+    private RoomAvailabilityIndex index;
+    private List<BookedRoom> roomBookings;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup
+    public void setUp() {
+        index = new RoomAvailabilityIndex(null, null);
+        roomBookings = new ArrayList<>();
+        long bookingId = 0;
+        for (long roomId = 1; roomId <= ROOMS; roomId++) {
+            index.addRoom(roomId, roomId % 2 == 0 ? "Double" : "Single");
+            // Two-night stays with one free night between them.
+            for (int i = 0; i < bookingsPerRoom; i++) {
+                LocalDate in = FIRST_CHECK_IN.plusDays(i * 3L);
+                index.addBooking(++bookingId, roomId, in, in.plusDays(2));
+                if (roomId == 1) {
+                    BookedRoom booking = new BookedRoom();
+                    booking.setBookingId(bookingId);
+                    booking.setCheckInDate(in);
+                    booking.setCheckOutDate(in.plusDays(2));
+                    roomBookings.add(booking);
+                }
+            }
+        }
+        // The free night in the middle of the booked season.
+        checkIn = FIRST_CHECK_IN.plusDays((bookingsPerRoom / 2) * 3L + 2);
+        checkOut = checkIn.plusDays(1);
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        for (BookedRoom existing : roomBookings) {
+            if (AvailabilityRule.overlaps(checkIn, checkOut, existing.getCheckInDate(), existing.getCheckOutDate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public List<Long> indexSearchAllRooms() {
+        return index.findAvailableRoomIds(checkIn, checkOut, "");
+    }
+
+    @Benchmark
+    public List<Long> indexSearchByType() {
+        return index.findAvailableRoomIds(checkIn, checkOut, "Double");
+    }
+}
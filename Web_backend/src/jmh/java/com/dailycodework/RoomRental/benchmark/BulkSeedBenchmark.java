@@ -0,0 +1,302 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.RoomRentalApp;
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Seeds 1,000 rooms and 100,000 bookings through JPA into the in-memory H2 schema, flushing every
+ * 1,000 rows. {@code ids=pooled} persists {@link Room} and {@link BookedRoom} with their pooled
+ * sequence ids; {@code ids=identity} persists {@link IdentityRoom} and {@link IdentityBooking},
+ * the same tables mapped with IDENTITY ids as they were before, so Hibernate inserts every row on
+ * its own to read the generated key whatever {@code batchSize} says. The JDBC statements each seed
+ * sent are reported as the {@code jdbcStatements} secondary result: per iteration in the JSON
+ * {@code rawData}, summed over the measurement iterations in the summary table.
+ * <p>
+ * H2 runs in-process, so with {@code roundTripMicros=0} a statement costs no network time and
+ * batching only adds work. {@code roundTripMicros} &gt; 0 parks the calling thread that long on
+ * every execute, commit and rollback, as a MySQL server on the network would; an executed batch
+ * counts as one round trip, as it is with {@code rewriteBatchedStatements=true}.
+ * <p>
+ * To measure against a scratch MySQL schema instead (its rooms and bookings are deleted after
+ * each iteration), run with {@code roundTripMicros=0} and pass {@code -jvmArgsAppend} with
+ * {@code -Dspring.datasource.url=...}, {@code -Dspring.datasource.driver-class-name}, the
+ * credentials and {@code -Dspring.jpa.properties.hibernate.dialect} through {@code jmh.args}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkSeedBenchmark {
+    private static final int ROOMS = 1_000;
+    private static final int BOOKINGS = 100_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2040, 1, 1);
+    private static final String H2_URL =
+            "jdbc:h2:mem:bulk_seed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"identity", "pooled"})
+    public String ids;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"0", "200"})
+    public int roundTripMicros;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("spring.datasource.url", H2_URL);
+        long roundTripNanos = TimeUnit.MICROSECONDS.toNanos(roundTripMicros);
+        context = new SpringApplicationBuilder(RoomRentalApp.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(
+                        new BeanPostProcessor() {
+                            @Override
+                            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                                return bean instanceof DataSource dataSource && roundTripNanos > 0
+                                        ? RoundTrips.delay(DataSource.class, dataSource, roundTripNanos)
+                                        : bean;
+                            }
+                        }))
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--rooms.availability-index.enabled=false",
+                        "--app.scheduling.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearStatistics() {
+        statistics.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM booked_room");
+        jdbcTemplate.update("DELETE FROM room");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int seed(Statements statements) {
+        if (ids.equals("identity")) {
+            seedWithIdentityIds();
+        } else {
+            seedWithPooledIds();
+        }
+        statements.jdbcStatements = statistics.getPrepareStatementCount();
+        return BOOKINGS;
+    }
+
+    private void seedWithPooledIds() {
+        Long[] roomIds = transactionTemplate.execute(status -> {
+            Long[] ids = new Long[ROOMS];
+            for (int i = 0; i < ROOMS; i++) {
+                Room room = new Room();
+                room.setRoomType(roomType(i));
+                room.setRoomPrice(roomPrice(i));
+                entityManager.persist(room);
+                ids[i] = room.getId();
+            }
+            return ids;
+        });
+        for (int start = 0; start < BOOKINGS; start += FLUSH_EVERY) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < from + FLUSH_EVERY; i++) {
+                    BookedRoom booking = new BookedRoom();
+                    booking.setCheckInDate(checkIn(i));
+                    booking.setCheckOutDate(checkIn(i).plusDays(2));
+                    booking.setGuestFullName("Seed Guest " + i);
+                    booking.setGuestEmail("seed" + i + "@example.com");
+                    booking.setNumOfAdults(2);
+                    booking.setBookingConfirmationCode(String.format("%010d", i));
+                    booking.setRoom(entityManager.getReference(Room.class, roomIds[i % ROOMS]));
+                    entityManager.persist(booking);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void seedWithIdentityIds() {
+        Long[] roomIds = transactionTemplate.execute(status -> {
+            Long[] ids = new Long[ROOMS];
+            for (int i = 0; i < ROOMS; i++) {
+                IdentityRoom room = new IdentityRoom(roomType(i), roomPrice(i));
+                entityManager.persist(room);
+                ids[i] = room.id;
+            }
+            return ids;
+        });
+        for (int start = 0; start < BOOKINGS; start += FLUSH_EVERY) {
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < from + FLUSH_EVERY; i++) {
+                    entityManager.persist(new IdentityBooking(checkIn(i), i,
+                            entityManager.getReference(IdentityRoom.class, roomIds[i % ROOMS])));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private static String roomType(int i) {
+        return i % 2 == 0 ? "Single" : "Double";
+    }
+
+    private static BigDecimal roomPrice(int i) {
+        return BigDecimal.valueOf(80 + i % 120);
+    }
+
+    private static LocalDate checkIn(int i) {
+        return FIRST_NIGHT.plusDays((i / ROOMS) * 3L);
+    }
+
+    /** The room table mapped with the IDENTITY ids Room used before it moved to room_seq. */
+    @Entity(name = "IdentityRoom")
+    @Table(name = "room")
+    static class IdentityRoom {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        String roomType;
+        BigDecimal roomPrice;
+        boolean isBooked;
+
+        protected IdentityRoom() {
+        }
+
+        IdentityRoom(String roomType, BigDecimal roomPrice) {
+            this.roomType = roomType;
+            this.roomPrice = roomPrice;
+        }
+    }
+
+    /** The booked_room table mapped with the IDENTITY ids BookedRoom used before booked_room_seq. */
+    @Entity(name = "IdentityBooking")
+    @Table(name = "booked_room")
+    static class IdentityBooking {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long bookingId;
+        @Column(name = "check_in")
+        LocalDate checkInDate;
+        @Column(name = "check_out")
+        LocalDate checkOutDate;
+        @Column(name = "guest_fullName")
+        String guestFullName;
+        @Column(name = "guest_email")
+        String guestEmail;
+        @Column(name = "adults")
+        int numOfAdults;
+        @Column(name = "children")
+        int numOfChildren;
+        @Column(name = "total_guest")
+        int totalNumOfGuest;
+        @Column(name = "confirmation_Code")
+        String bookingConfirmationCode;
+        @ManyToOne(fetch = FetchType.LAZY)
+        @JoinColumn(name = "room_id")
+        IdentityRoom room;
+
+        protected IdentityBooking() {
+        }
+
+        IdentityBooking(LocalDate checkIn, int i, IdentityRoom room) {
+            this.checkInDate = checkIn;
+            this.checkOutDate = checkIn.plusDays(2);
+            this.guestFullName = "Seed Guest " + i;
+            this.guestEmail = "seed" + i + "@example.com";
+            this.numOfAdults = 2;
+            this.totalNumOfGuest = 2;
+            this.bookingConfirmationCode = String.format("%010d", i);
+            this.room = room;
+        }
+    }
+
+    /** Secondary results written to the JMH report next to each score. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long jdbcStatements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            jdbcStatements = 0;
+        }
+    }
+
+    /** Wraps a DataSource so that every statement execution, commit and rollback waits one round trip. */
+    static final class RoundTrips {
+        private static final Set<String> ROUND_TRIPS = Set.of("execute", "executeQuery", "executeUpdate",
+                "executeLargeUpdate", "executeBatch", "executeLargeBatch", "commit", "rollback");
+
+        private RoundTrips() {
+        }
+
+        static Object delay(Class<?> type, Object target, long roundTripNanos) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (ROUND_TRIPS.contains(method.getName())) {
+                    LockSupport.parkNanos(roundTripNanos);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                Class<?> returned = method.getReturnType();
+                if (result != null && (returned == Connection.class || returned == Statement.class
+                        || returned == PreparedStatement.class)) {
+                    return delay(returned, result, roundTripNanos);
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token JwtUtils cost. {@code legacy} decodes the secret and builds a parser on every call,
+ * as JwtUtils used to (twice per request); {@code cached} and {@code validate} use the shared
+ * parser; {@code generate} signs a login token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+    private static final String SECRET = "36763979244226452948404D635166546A576D5A7134743777217A25432A462D";
+
+    private JwtUtils jwtUtils;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, "primary", List.of(), 3_600_000);
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(1L, "bench@example.com", List.of("ROLE_USER"));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = jwtUtils.generateJwtTokenForUser(authentication);
+    }
+
+    @Benchmark
+    public Claims legacy() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims legacyValidateThenRead() {
+        Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build().parse(token);
+        return legacy();
+    }
+
+    @Benchmark
+    public Claims cached() {
+        return jwtUtils.parseVerifiedClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateToken(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtTokenForUser(authentication);
+    }
+}
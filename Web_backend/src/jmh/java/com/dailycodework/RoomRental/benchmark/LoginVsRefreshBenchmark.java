@@ -0,0 +1,67 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.dailycodework.RoomRental.service.RefreshTokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of issuing a new access token by password login versus by refresh token. Both paths
+ * sign a JWT. Login adds a BCrypt check at the encoder's default strength; refresh adds a
+ * SHA-256 lookup hash and mints the rotated token. Database round trips are left out; each path
+ * does one user or token read plus one write.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class LoginVsRefreshBenchmark {
+    private static final String SECRET = "36763979244226452948404D635166546A576D5A7134743777217A25432A462D";
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final SecureRandom random = new SecureRandom();
+    private JwtUtils jwtUtils;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String passwordHash;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, "primary", List.of(), 3_600_000);
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(1L, "bench@example.com", List.of("ROLE_USER"));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        passwordHash = passwordEncoder.encode("correct horse battery staple");
+        refreshToken = newRefreshToken();
+    }
+
+    @Benchmark
+    public String login() {
+        if (!passwordEncoder.matches("correct horse battery staple", passwordHash)) {
+            throw new IllegalStateException("password mismatch");
+        }
+        return jwtUtils.generateJwtTokenForUser(authentication);
+    }
+
+    @Benchmark
+    public String refresh() {
+        String lookupHash = RefreshTokenService.hash(refreshToken);
+        String rotated = newRefreshToken();
+        return lookupHash + RefreshTokenService.hash(rotated) + jwtUtils.generateJwtTokenForUser(authentication);
+    }
+
+    private String newRefreshToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,98 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.response.BookingResponse;
+import com.dailycodework.RoomRental.response.RoomResponse;
+import com.dailycodework.RoomRental.response.Views;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time and payload size of a 1,000-room /rooms/all-rooms listing in the detail
+ * and summary views, with and without gzip. A representation's size does not change between
+ * invocations, so it is printed once per trial rather than kept in a counter that JMH would sum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadBenchmark {
+    private static final int ROOMS = 1000;
+
+    @Param({"5"})
+    public int bookingsPerRoom;
+
+    private List<RoomResponse> rooms;
+    private ObjectWriter detail;
+    private ObjectWriter summary;
+
+    @Setup
+    public void setUp() throws IOException {
+        rooms = new ArrayList<>();
+        long bookingId = 0;
+        for (long id = 1; id <= ROOMS; id++) {
+            List<BookingResponse> bookings = new ArrayList<>();
+            for (int i = 0; i < bookingsPerRoom; i++) {
+                LocalDate checkIn = LocalDate.of(2030, 1, 1).plusDays(i * 3L);
+                bookings.add(new BookingResponse(++bookingId, checkIn, checkIn.plusDays(2),
+                        String.format("%010d", bookingId)));
+            }
+            RoomResponse room = new RoomResponse(id, id % 2 == 0 ? "Double" : "Single",
+                    BigDecimal.valueOf(100 + id % 200), true, bookings);
+            String hash = String.format("%064x", id);
+            room.setPhotoVersion(hash);
+            room.setPhotoUrl("/rooms/" + id + "/photo?v=" + hash);
+            rooms.add(room);
+        }
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        detail = objectMapper.writerWithView(Views.Detail.class);
+        summary = objectMapper.writerWithView(Views.Summary.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSizes() throws IOException {
+        System.out.printf("%npayload bytes for %d rooms: detail=%d (gzip %d), summary=%d (gzip %d)%n", ROOMS,
+                detail.writeValueAsBytes(rooms).length, gzip(detail).length,
+                summary.writeValueAsBytes(rooms).length, gzip(summary).length);
+    }
+
+    @Benchmark
+    public byte[] detailJson() throws IOException {
+        return detail.writeValueAsBytes(rooms);
+    }
+
+    @Benchmark
+    public byte[] summaryJson() throws IOException {
+        return summary.writeValueAsBytes(rooms);
+    }
+
+    @Benchmark
+    public byte[] detailGzip() throws IOException {
+        return gzip(detail);
+    }
+
+    @Benchmark
+    public byte[] summaryGzip() throws IOException {
+        return gzip(summary);
+    }
+
+    private byte[] gzip(ObjectWriter writer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, rooms);
+        }
+        return bytes.toByteArray();
+    }
+}
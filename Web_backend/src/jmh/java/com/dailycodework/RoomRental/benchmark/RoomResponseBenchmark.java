@@ -0,0 +1,108 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.controller.RoomController;
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.response.RoomResponse;
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.service.PageSettings;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of turning loaded rooms into the /rooms/all-rooms payload: entity to RoomResponse mapping
+ * in RoomController, and Jackson serialization of the resulting list with the same ObjectMapper
+ * setup Spring MVC uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomResponseBenchmark {
+    private static final int BOOKINGS_PER_ROOM = 5;
+
+    @Param({"10", "100", "1000"})
+    public int rooms;
+
+    private RoomController roomController;
+    private ObjectMapper objectMapper;
+    private List<RoomResponse> responses;
+
+    @Setup
+    public void setUp() {
+        List<Room> loaded = new ArrayList<>();
+        long bookingId = 0;
+        for (long id = 1; id <= rooms; id++) {
+            Room room = new Room();
+            room.setId(id);
+            room.setRoomType(id % 2 == 0 ? "Double" : "Single");
+            room.setRoomPrice(BigDecimal.valueOf(100 + id));
+            room.setPhotoHash("a3f1c9e2b7d04e6f8a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f6071");
+            for (int i = 0; i < BOOKINGS_PER_ROOM; i++) {
+                BookedRoom booking = new BookedRoom();
+                booking.setBookingId(++bookingId);
+                booking.setCheckInDate(LocalDate.of(2030, 1, 1).plusDays(i * 3L));
+                booking.setCheckOutDate(LocalDate.of(2030, 1, 3).plusDays(i * 3L));
+                booking.setBookingConfirmationCode(String.format("%010d", bookingId));
+                booking.setRoom(room);
+                room.getBookings().add(booking);
+            }
+            loaded.add(room);
+        }
+        IRoomService roomService = (IRoomService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{IRoomService.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getAllRoomsWithBookings")) {
+                        return loaded;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // The catalogue version is read from the database; a fixed one keeps this to mapping alone
+        CatalogueVersion.Version version = mock(CatalogueVersion.Version.class);
+        when(version.getETag()).thenReturn("W/\"1\"");
+        CatalogueVersion catalogueVersion = mock(CatalogueVersion.class);
+        when(catalogueVersion.current()).thenReturn(version);
+        roomController = new RoomController(roomService, null, new PageSettings(20, 100), catalogueVersion, null, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responses = map();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<RoomResponse> map() {
+        try {
+            MappingJacksonValue body = roomController.getAllRooms("detail",
+                    new ServletWebRequest(new MockHttpServletRequest("GET", "/rooms/all-rooms"))).getBody();
+            return (List<RoomResponse>) body.getValue();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(map());
+    }
+}
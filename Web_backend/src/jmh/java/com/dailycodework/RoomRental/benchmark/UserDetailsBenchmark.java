@@ -0,0 +1,44 @@
+package com.dailycodework.RoomRental.benchmark;
+
+import com.dailycodework.RoomRental.model.Role;
+import com.dailycodework.RoomRental.model.User;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Principal construction per authenticated request: from a loaded User entity (lookup mode and
+ * login) and from token claims (the default claims mode).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsBenchmark {
+    private User user;
+    private List<String> roles;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1Sb0xH1Z1QGyf0y6v3qLa2e");
+        user.setRoles(List.of(new Role("ROLE_USER"), new Role("ROLE_ADMIN")));
+        roles = List.of("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Benchmark
+    public HotelUserDetails fromUser() {
+        return HotelUserDetails.buildUserDetails(user);
+    }
+
+    @Benchmark
+    public HotelUserDetails fromClaims() {
+        return HotelUserDetails.buildUserDetails(1L, "bench@example.com", roles);
+    }
+}
@@ -0,0 +1,48 @@
+package com.dailycodework.RoomRental.config;
+
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches for the room catalogue, local to each node. Entries expire after
+ * {@code rooms.cache.ttl}. Their keys start with the shared catalogue version ({@link #CATALOGUE_KEY}),
+ * so a room or booking write on any node makes every earlier entry on every node unreachable;
+ * see CatalogueVersion.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String ROOM_TYPES = "roomTypes";
+    public static final String ROOMS = "rooms";
+    public static final String ROOM_LIST = "roomList";
+    public static final String CATALOGUE_KEY = "catalogueKeyGenerator";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${rooms.cache.maximum-size:1000}") long maximumSize,
+                                     @Value("${rooms.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ROOM_TYPES, ROOMS, ROOM_LIST);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    @Bean(CATALOGUE_KEY)
+    public KeyGenerator catalogueKeyGenerator(CatalogueVersion catalogueVersion) {
+        return (target, method, params) ->
+                new SimpleKey(catalogueVersion.current().getCounter(), SimpleKeyGenerator.generateKey(params));
+    }
+}
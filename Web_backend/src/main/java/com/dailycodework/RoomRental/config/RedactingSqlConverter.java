@@ -0,0 +1,47 @@
+package com.dailycodework.RoomRental.config;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * Logback {@code %redactedSql} conversion word for the {@code org.hibernate.SQL_SLOW} logger.
+ * Hibernate logs slow statements through the JDBC statement's {@code toString()}, which for
+ * MySQL and H2 includes the bound values (emails, names, confirmation codes). This keeps the
+ * statement text and replaces every literal with {@code ?}.
+ */
+public class RedactingSqlConverter extends ClassicConverter {
+    // "HikariProxyPreparedStatement@1 wrapping com.mysql.cj.jdbc.ClientPreparedStatement: " or "... wrapping prep38: "
+    private static final Pattern STATEMENT_PREFIX = Pattern.compile("\\S+@\\w+ wrapping (?:[\\w.$]+: )?");
+    // H2 appends the parameters as " {1: 'a', 2: 5}"
+    private static final Pattern PARAMETER_BLOCK = Pattern.compile(" \\{\\d+: .*}(?='?$)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|''|\\\\.)*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$?])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final String SQL_MARKER = "SQL: '";
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(event.getFormattedMessage());
+    }
+
+    public static String redact(String message) {
+        if (message == null) {
+            return null;
+        }
+        int start = message.indexOf(SQL_MARKER);
+        if (start < 0) {
+            return redactStatement(message);
+        }
+        start += SQL_MARKER.length();
+        int end = message.endsWith("'") ? message.length() - 1 : message.length();
+        return message.substring(0, start) + redactStatement(message.substring(start, end)) + message.substring(end);
+    }
+
+    private static String redactStatement(String sql) {
+        String statement = STATEMENT_PREFIX.matcher(sql).replaceFirst("");
+        statement = PARAMETER_BLOCK.matcher(statement).replaceFirst("");
+        statement = STRING_LITERAL.matcher(statement).replaceAll("?");
+        return NUMBER_LITERAL.matcher(statement).replaceAll("?");
+    }
+}
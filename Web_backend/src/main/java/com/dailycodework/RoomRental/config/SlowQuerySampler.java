@@ -0,0 +1,39 @@
+package com.dailycodework.RoomRental.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Logback filter for the {@code org.hibernate.SQL_SLOW} appender. When the database slows down
+ * every statement crosses the threshold at once; this keeps the first {@code maxPerSecond} slow
+ * statements of each second and drops the rest, so the log shows the pattern without flooding.
+ * A {@code maxPerSecond} of 0 or less keeps everything.
+ */
+public class SlowQuerySampler extends Filter<ILoggingEvent> {
+    private int maxPerSecond = 20;
+    private long currentSecond = -1;
+    private int admitted;
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        return admit(event.getTimeStamp()) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public synchronized boolean admit(long timestampMillis) {
+        long second = timestampMillis / 1000;
+        if (second != currentSecond) {
+            currentSecond = second;
+            admitted = 0;
+        }
+        if (maxPerSecond > 0 && admitted >= maxPerSecond) {
+            return false;
+        }
+        admitted++;
+        return true;
+    }
+}
@@ -1,27 +1,37 @@
 package com.dailycodework.RoomRental.controller;
 
+import com.dailycodework.RoomRental.exception.InvalidRefreshTokenException;
+import com.dailycodework.RoomRental.exception.PasswordHashingOverloadedException;
 import com.dailycodework.RoomRental.exception.UserAlreadyExistsException;
 import com.dailycodework.RoomRental.model.User;
 import com.dailycodework.RoomRental.request.LoginRequest;
+import com.dailycodework.RoomRental.request.RefreshTokenRequest;
 import com.dailycodework.RoomRental.response.JwtResponse;
+import com.dailycodework.RoomRental.security.PasswordHashingExecutor;
 import com.dailycodework.RoomRental.security.jwt.JwtUtils;
 import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.dailycodework.RoomRental.service.BusinessMetrics;
+import com.dailycodework.RoomRental.service.IRefreshTokenService;
 import com.dailycodework.RoomRental.service.IUserService;
+import com.dailycodework.RoomRental.service.IssuedRefreshToken;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -30,33 +40,93 @@ public class AuthController {
     private final IUserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final IRefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BusinessMetrics businessMetrics;
 
     @PostMapping("/register-user")
-    public ResponseEntity<?> registerUser(@RequestBody User user){
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody User user){
         try{
-            userService.registerUser(user);
-            return ResponseEntity.ok("Registration successful!");
-
-        }catch (UserAlreadyExistsException e){
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+            return passwordHashingExecutor.submit(() -> userService.registerUser(user))
+                    .<ResponseEntity<?>>thenApply(registered -> ResponseEntity.ok("Registration successful!"))
+                    .exceptionally(e -> {
+                        if (unwrap(e) instanceof UserAlreadyExistsException ex){
+                            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+                        }
+                        throw new CompletionException(unwrap(e));
+                    });
+        }catch (PasswordHashingOverloadedException e){
+            return CompletableFuture.completedFuture(overloaded(e));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest request){
-        Authentication authentication =
-                authenticationManager
-                        .authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest request){
+        try{
+            return passwordHashingExecutor.submit(() -> authenticationManager
+                            .authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())))
+                    .<ResponseEntity<?>>thenApply(this::loginResponse)
+                    .exceptionally(e -> {
+                        if (unwrap(e) instanceof AuthenticationException ex){
+                            businessMetrics.loginFailed();
+                            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
+                        }
+                        throw new CompletionException(unwrap(e));
+                    });
+        }catch (PasswordHashingOverloadedException e){
+            return CompletableFuture.completedFuture(overloaded(e));
+        }
+    }
+
+    @PostMapping("/refresh-token")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request){
+        try{
+            IssuedRefreshToken issued = refreshTokenService.rotate(request.getRefreshToken());
+            HotelUserDetails userDetails = HotelUserDetails.buildUserDetails(issued.getUser());
+            String jwt = jwtUtils.generateJwtTokenForUser(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+            List<String> roles = userDetails.getAuthorities()
+                    .stream()
+                    .map(GrantedAuthority::getAuthority).toList();
+            return ResponseEntity.ok(new JwtResponse(
+                    userDetails.getId(),
+                    userDetails.getEmail(),
+                    jwt,
+                    roles,
+                    issued.getToken()));
+        }catch (InvalidRefreshTokenException e){
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@Valid @RequestBody RefreshTokenRequest request){
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.ok("Logged out");
+    }
+
+    private ResponseEntity<?> loginResponse(Authentication authentication){
         String jwt = jwtUtils.generateJwtTokenForUser(authentication);
         HotelUserDetails userDetails = (HotelUserDetails) authentication.getPrincipal();
         List<String> roles = userDetails.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority).toList();
+        String refreshToken = refreshTokenService.issue(userDetails.getId());
         return ResponseEntity.ok(new JwtResponse(
                 userDetails.getId(),
                 userDetails.getEmail(),
                 jwt,
-                roles));
+                roles,
+                refreshToken));
+    }
+
+    private ResponseEntity<?> overloaded(PasswordHashingOverloadedException e){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    private static Throwable unwrap(Throwable e){
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 }
@@ -4,15 +4,25 @@ import com.dailycodework.RoomRental.exception.InvalidBookingRequestException;
 import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
 import com.dailycodework.RoomRental.model.BookedRoom;
 import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.request.BatchBookingRequest;
+import com.dailycodework.RoomRental.response.BatchBookingResponse;
 import com.dailycodework.RoomRental.response.BookingResponse;
+import com.dailycodework.RoomRental.response.CursorPage;
 import com.dailycodework.RoomRental.response.RoomResponse;
+import com.dailycodework.RoomRental.service.BookingOutcome;
 import com.dailycodework.RoomRental.service.IBookingService;
+import com.dailycodework.RoomRental.service.IRoomBulkService;
 import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.service.PageSettings;
+import com.dailycodework.RoomRental.service.TransferFormat;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +33,8 @@ import java.util.List;
 public class BookingController {
     private final IBookingService bookingService;
     private final IRoomService roomService;
+    private final PageSettings pageSettings;
+    private final IRoomBulkService roomBulkService;
 
     @GetMapping("/all-bookings")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -36,6 +48,26 @@ public class BookingController {
         return ResponseEntity.ok(bookingResponses);
     }
 
+    @GetMapping("/all-bookings/page")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<BookingResponse>> getBookingsPage(@RequestParam(required = false) Long cursor,
+                                                                       @RequestParam(required = false) Integer size){
+        Slice<BookedRoom> bookings = bookingService.getBookingsPage(cursor, pageSettings.pageOf(size));
+        return ResponseEntity.ok(CursorPage.of(bookings, BookedRoom::getBookingId,
+                booking -> getBookingResponse(booking, booking.getRoom())));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(required = false) String format){
+        TransferFormat exportFormat = TransferFormat.from(format);
+        StreamingResponseBody body = out -> roomBulkService.exportBookings(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @PostMapping("/room/{roomId}/booking")
     public ResponseEntity<?> saveBooking(@PathVariable Long roomId,
                                          @RequestBody BookedRoom bookingRequest){
@@ -49,6 +81,44 @@ public class BookingController {
         }
     }
 
+    /**
+     * Books several rooms for one guest in a single all-or-nothing call. The response lists the
+     * outcome of every item, in request order, whether or not the batch was booked.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> saveBookings(@RequestBody BatchBookingRequest batchRequest){
+        List<BatchBookingRequest.Item> items = batchRequest.getBookings() == null ? List.of() : batchRequest.getBookings();
+        List<Long> roomIds = new ArrayList<>(items.size());
+        List<BookedRoom> bookingRequests = new ArrayList<>(items.size());
+        for (BatchBookingRequest.Item item : items){
+            BookedRoom booking = new BookedRoom();
+            booking.setCheckInDate(item.getCheckInDate());
+            booking.setCheckOutDate(item.getCheckOutDate());
+            booking.setGuestFullName(batchRequest.getGuestFullName());
+            booking.setGuestEmail(batchRequest.getGuestEmail());
+            booking.setNumOfAdults(item.getNumOfAdults());
+            booking.setNumOfChildren(item.getNumOfChildren());
+            roomIds.add(item.getRoomId());
+            bookingRequests.add(booking);
+        }
+        List<BookingOutcome> outcomes;
+        try{
+            outcomes = bookingService.saveBookings(roomIds, bookingRequests);
+        }catch (InvalidBookingRequestException e){
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        List<BatchBookingResponse.Item> results = new ArrayList<>(outcomes.size());
+        for (int i = 0; i < outcomes.size(); i++){
+            BookedRoom booking = bookingRequests.get(i);
+            results.add(new BatchBookingResponse.Item(i, roomIds.get(i),
+                    booking.getCheckInDate(), booking.getCheckOutDate(), outcomes.get(i),
+                    booking.getBookingId(), booking.getBookingConfirmationCode()));
+        }
+        boolean booked = outcomes.stream().allMatch(outcome -> outcome == BookingOutcome.BOOKED);
+        BatchBookingResponse response = new BatchBookingResponse(booked, results);
+        return booked ? ResponseEntity.ok(response) : ResponseEntity.badRequest().body(response);
+    }
+
     @GetMapping("/confirmation/{confirmationCode}")
     public ResponseEntity<?> getBookingByConfirmationCode(@PathVariable String confirmationCode){
         try{
@@ -78,6 +148,10 @@ public class BookingController {
 
     private BookingResponse getBookingResponse(BookedRoom booking) {
         Room theRoom = roomService.getRoomById(booking.getRoom().getId()).get();
+        return getBookingResponse(booking, theRoom);
+    }
+
+    private BookingResponse getBookingResponse(BookedRoom booking, Room theRoom) {
         RoomResponse room = new RoomResponse(
                 theRoom.getId(),
                 theRoom.getRoomType(),
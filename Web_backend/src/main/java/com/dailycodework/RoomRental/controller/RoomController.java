@@ -3,28 +3,53 @@ package com.dailycodework.RoomRental.controller;
 import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
 import com.dailycodework.RoomRental.model.BookedRoom;
 import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
 import com.dailycodework.RoomRental.response.BookingResponse;
+import com.dailycodework.RoomRental.response.CursorPage;
+import com.dailycodework.RoomRental.response.ImportLineError;
+import com.dailycodework.RoomRental.response.ImportReport;
+import com.dailycodework.RoomRental.response.RoomPhoto;
 import com.dailycodework.RoomRental.response.RoomResponse;
+import com.dailycodework.RoomRental.response.Views;
 import com.dailycodework.RoomRental.service.BookingService;
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.dailycodework.RoomRental.service.IRoomBulkService;
 import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.service.PageSettings;
+import com.dailycodework.RoomRental.service.RoomImportListener;
+import com.dailycodework.RoomRental.service.TransferFormat;
+import com.dailycodework.RoomRental.storage.PhotoSize;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.apache.tomcat.util.codec.binary.Base64;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.sql.rowset.serial.SerialBlob;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.sql.Blob;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 
 @RestController
@@ -33,6 +58,10 @@ import java.util.Optional;
 public class RoomController {
     private final IRoomService roomService;
     private final BookingService bookingService;
+    private final PageSettings pageSettings;
+    private final CatalogueVersion catalogueVersion;
+    private final IRoomBulkService roomBulkService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/add/new-room")
 //    @PreAuthorize("hasRole('ROLE_ADMIN')")
@@ -47,26 +76,84 @@ public class RoomController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Imports a CSV (header naming roomType and roomPrice) or NDJSON upload while it is still
+     * arriving. The response is NDJSON: one {@link ImportLineError} per rejected line and an
+     * {@link ImportReport} after every committed batch, the last one with {@code done} set.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importRooms(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                             @RequestParam(required = false) Integer batchSize,
+                                                             InputStream upload) {
+        TransferFormat format = TransferFormat.of(contentType);
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            roomBulkService.importRooms(new InputStreamReader(upload, charset), format, batchSize,
+                    new NdjsonImportListener(writer, objectMapper));
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(TransferFormat.NDJSON.getMediaType()).body(body);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportRooms(@RequestParam(required = false) String format) {
+        TransferFormat exportFormat = TransferFormat.from(format);
+        StreamingResponseBody body = out -> roomBulkService.exportRooms(exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"rooms." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/room/types")
-    public List<String> getRoomTypes() {
-        return roomService.getAllRoomTypes();
+    public ResponseEntity<List<String>> getRoomTypes(WebRequest webRequest) {
+        CatalogueVersion.Version version = catalogueVersion.current();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        return catalogueResponse(version, roomService.getAllRoomTypes());
     }
 
     @GetMapping("/all-rooms")
-    public ResponseEntity<List<RoomResponse>> getAllRooms() throws SQLException {
-        List<Room> rooms = roomService.getAllRooms();
+    public ResponseEntity<MappingJacksonValue> getAllRooms(@RequestParam(required = false) String view,
+                                                           WebRequest webRequest) throws SQLException {
+        CatalogueVersion.Version version = catalogueVersion.current();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Class<?> jsonView = Views.from(view, Views.Summary.class);
+        List<Room> rooms = roomService.getAllRoomsWithBookings();
         List<RoomResponse> roomResponses = new ArrayList<>();
         for (Room room : rooms) {
 //            byte[] photoBytes = roomService.getRoomPhotoByRoomId(room.getId());
 //            if (photoBytes != null && photoBytes.length > 0) {
 //                String base64Photo = Base64.encodeBase64String(photoBytes);
-                RoomResponse roomResponse = getRoomResponse(room);
+                RoomResponse roomResponse = getRoomResponse(room, bookingsInView(jsonView, room.getBookings()));
 //                roomResponse.setPhoto(base64Photo);
                 roomResponses.add(roomResponse);
 //            }
         }
-        return ResponseEntity.ok(roomResponses);
+        return catalogueResponse(version, withView(roomResponses, jsonView));
+    }
+
+    @GetMapping("/all-rooms/page")
+    public ResponseEntity<MappingJacksonValue> getRoomsPage(@RequestParam(required = false) Long cursor,
+                                                            @RequestParam(required = false) Integer size,
+                                                            @RequestParam(required = false) String view,
+                                                            WebRequest webRequest) {
+        CatalogueVersion.Version version = catalogueVersion.current();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Class<?> jsonView = Views.from(view, Views.Summary.class);
+        Slice<Room> rooms = roomService.getRoomsPage(cursor, pageSettings.pageOf(size));
+        return catalogueResponse(version, withView(CursorPage.of(rooms, Room::getId,
+                room -> getRoomResponse(room, bookingsInView(jsonView, room.getBookings()))), jsonView));
     }
+
     @DeleteMapping("/delete/room/{roomId}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<Void> deleteRoom(@PathVariable Long roomId){
@@ -80,52 +167,106 @@ public class RoomController {
                                                    @RequestParam(required = false)  String roomType,
                                                    @RequestParam(required = false) BigDecimal roomPrice,
                                                    @RequestParam(required = false) MultipartFile photo) throws SQLException, IOException {
-        byte[] photoBytes = photo != null && !photo.isEmpty() ?
-                photo.getBytes() : roomService.getRoomPhotoByRoomId(roomId);
-        Blob photoBlob = photoBytes != null && photoBytes.length >0 ? new SerialBlob(photoBytes): null;
+        byte[] photoBytes = photo != null && !photo.isEmpty() ? photo.getBytes() : null;
         Room theRoom = roomService.updateRoom(roomId, roomType, roomPrice, photoBytes);
-        theRoom.setPhoto(photoBlob);
         RoomResponse roomResponse = getRoomResponse(theRoom);
         return ResponseEntity.ok(roomResponse);
     }
 
     @GetMapping("/room/{roomId}")
-    public ResponseEntity<Optional<RoomResponse>> getRoomById(@PathVariable Long roomId){
+    public ResponseEntity<MappingJacksonValue> getRoomById(@PathVariable Long roomId,
+                                                           @RequestParam(required = false) String view,
+                                                           WebRequest webRequest){
+        CatalogueVersion.Version version = catalogueVersion.current();
+        if (webRequest.checkNotModified(version.getETag(), version.getLastModified())) {
+            return null;
+        }
+        Class<?> jsonView = Views.from(view, Views.Detail.class);
         Optional<Room> theRoom = roomService.getRoomById(roomId);
         return theRoom.map(room -> {
-            RoomResponse roomResponse = getRoomResponse(room);
-            return  ResponseEntity.ok(Optional.of(roomResponse));
+            RoomResponse roomResponse = jsonView == Views.Detail.class
+                    ? getRoomResponse(room)
+                    : getRoomResponse(room, List.of());
+            return  catalogueResponse(version, withView(Optional.of(roomResponse), jsonView));
         }).orElseThrow(() -> new ResourceNotFoundException("Room not found"));
     }
 
     @GetMapping("/available-rooms")
-    public ResponseEntity<List<RoomResponse>> getAvailableRooms(
+    public ResponseEntity<?> getAvailableRooms(
             @RequestParam("checkInDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)LocalDate checkInDate,
             @RequestParam("checkOutDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)LocalDate checkOutDate,
-            @RequestParam("roomType") String roomType) throws SQLException {
+            @RequestParam("roomType") String roomType,
+            @RequestParam(required = false) String view) throws SQLException {
+        if (!AvailabilityRule.isValidStay(checkInDate, checkOutDate)){
+            return ResponseEntity.badRequest().body("Check-in date must come before check-out date");
+        }
+        Class<?> jsonView = Views.from(view, Views.Summary.class);
         List<Room> availableRooms = roomService.getAvailableRooms(checkInDate, checkOutDate, roomType);
         List<RoomResponse> roomResponses = new ArrayList<>();
         for (Room room : availableRooms){
-            byte[] photoBytes = roomService.getRoomPhotoByRoomId(room.getId());
-            if (photoBytes != null && photoBytes.length > 0){
-                String photoBase64 = Base64.encodeBase64String(photoBytes);
-                RoomResponse roomResponse = getRoomResponse(room);
-                roomResponse.setPhoto(photoBase64);
-                roomResponses.add(roomResponse);
+            if (room.hasPhoto()){
+                // Summary responses leave out bookings, so skip the per-room booking query.
+                roomResponses.add(jsonView == Views.Detail.class
+                        ? getRoomResponse(room)
+                        : getRoomResponse(room, List.of()));
             }
         }
         if(roomResponses.isEmpty()){
             return ResponseEntity.noContent().build();
         }else{
-            return ResponseEntity.ok(roomResponses);
+            return ResponseEntity.ok(withView(roomResponses, jsonView));
+        }
+    }
+
+    @GetMapping("/{roomId}/photo")
+    public ResponseEntity<StreamingResponseBody> getRoomPhoto(@PathVariable Long roomId,
+                                                              @RequestParam(value = "v", required = false) String version,
+                                                              @RequestParam(value = "size", required = false) String size,
+                                                              WebRequest webRequest) throws IOException {
+        PhotoSize requestedSize = PhotoSize.from(size);
+        RoomPhoto photo = roomService.getRoomPhoto(roomId, requestedSize);
+        if (webRequest.checkNotModified(photoETag(photo))) {
+            return null;
         }
+        CacheControl cacheControl = photo.getHash().equals(version) && photo.getSize() == requestedSize
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        StreamingResponseBody body = out -> roomService.writeRoomPhoto(photo, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(photo.getContentType()))
+                .contentLength(photo.getLength())
+                .eTag(photoETag(photo))
+                .cacheControl(cacheControl)
+                .body(body);
     }
 
+    private String photoETag(RoomPhoto photo) {
+        return "\"" + photo.getKey() + "\"";
+    }
 
+    private <T> ResponseEntity<T> catalogueResponse(CatalogueVersion.Version version, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.getETag())
+                .lastModified(version.getLastModified())
+                .body(body);
+    }
 
+    private static MappingJacksonValue withView(Object body, Class<?> jsonView) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(jsonView);
+        return value;
+    }
+
+    private static List<BookedRoom> bookingsInView(Class<?> jsonView, List<BookedRoom> bookings) {
+        return jsonView == Views.Detail.class ? bookings : List.of();
+    }
 
     private RoomResponse getRoomResponse(Room room) {
-        List<BookedRoom> bookings = getAllBookingsByRoomId(room.getId());
+        return getRoomResponse(room, getAllBookingsByRoomId(room.getId()));
+    }
+
+    private RoomResponse getRoomResponse(Room room, List<BookedRoom> bookings) {
        List<BookingResponse> bookingInfo = bookings
                 .stream()
                 .map(booking -> new BookingResponse(booking.getBookingId(),
@@ -140,9 +281,14 @@ public class RoomController {
 //                throw new PhotoRetrievalException("Error retrieving photo");
 //            }
 //        }
-        return new RoomResponse(room.getId(),
+        RoomResponse roomResponse = new RoomResponse(room.getId(),
                 room.getRoomType(), room.getRoomPrice(),
                 room.isBooked(), bookingInfo);
+        if (room.hasPhoto()) {
+            roomResponse.setPhotoVersion(room.getPhotoHash());
+            roomResponse.setPhotoUrl("/rooms/" + room.getId() + "/photo?v=" + room.getPhotoHash());
+        }
+        return roomResponse;
     }
 
     private List<BookedRoom> getAllBookingsByRoomId(Long roomId) {
@@ -150,4 +296,35 @@ public class RoomController {
 
     }
 
+    private static final class NdjsonImportListener implements RoomImportListener {
+        private final Writer writer;
+        private final ObjectMapper objectMapper;
+
+        private NdjsonImportListener(Writer writer, ObjectMapper objectMapper) {
+            this.writer = writer;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public void lineRejected(ImportLineError error) {
+            write(error, false);
+        }
+
+        @Override
+        public void progress(ImportReport report) {
+            write(report, true);
+        }
+
+        private void write(Object value, boolean flush) {
+            try {
+                writer.write(objectMapper.writeValueAsString(value));
+                writer.write('\n');
+                if (flush) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -1,8 +1,13 @@
 package com.dailycodework.RoomRental.controller;
 
+import com.dailycodework.RoomRental.model.Role;
 import com.dailycodework.RoomRental.model.User;
+import com.dailycodework.RoomRental.response.CursorPage;
+import com.dailycodework.RoomRental.response.UserResponse;
 import com.dailycodework.RoomRental.service.IUserService;
+import com.dailycodework.RoomRental.service.PageSettings;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -17,6 +22,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final IUserService userService;
+    private final PageSettings pageSettings;
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ROLE_USER')")
@@ -25,6 +31,14 @@ public class UserController {
         return new ResponseEntity<>(userService.getUsers(), HttpStatus.FOUND);
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersPage(@RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(required = false) Integer size){
+        Slice<User> users = userService.getUsersPage(cursor, pageSettings.pageOf(size));
+        return ResponseEntity.ok(CursorPage.of(users, User::getId, this::getUserResponse));
+    }
+
     @GetMapping("/{email}")
     @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_ADMIN')")
     public ResponseEntity<?> getUserByEmail(@PathVariable("email") String email){
@@ -49,4 +63,9 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error deleting user: " + e.getMessage());
         }
     }
+
+    private UserResponse getUserResponse(User user) {
+        List<String> roles = user.getRoles().stream().map(Role::getName).toList();
+        return new UserResponse(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), roles);
+    }
 }
@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.exception;
+
+import lombok.Getter;
+
+
+@Getter
+public class PasswordHashingOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
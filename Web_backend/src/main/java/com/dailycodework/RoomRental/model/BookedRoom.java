@@ -16,7 +16,8 @@ import java.time.LocalDate;
 @NoArgsConstructor
 public class BookedRoom {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booked_room_seq")
+    @SequenceGenerator(name = "booked_room_seq", sequenceName = "booked_room_seq", allocationSize = 50)
     private  Long bookingId;
 
     @Column(name = "check_in")
@@ -0,0 +1,56 @@
+package com.dailycodework.RoomRental.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+
+/**
+ * An event written in the same transaction as the change it describes and published later by
+ * OutboxDispatcher, so downstream work never runs on the request path.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+    public static final String BOOKING_CONFIRMED = "booking.confirmed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(length = 64, nullable = false)
+    private String eventType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(length = 4000, nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    private LocalDateTime publishedAt;
+
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxEvent(String eventType, Long aggregateId, String payload, LocalDateTime now) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = now;
+        this.availableAt = now;
+    }
+}
@@ -7,7 +7,6 @@ import lombok.Setter;
 import org.apache.commons.lang3.RandomStringUtils;
 
 import java.math.BigDecimal;
-import java.sql.Blob;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,13 +17,15 @@ import java.util.List;
 @AllArgsConstructor
 public class Room {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "room_seq")
+    @SequenceGenerator(name = "room_seq", sequenceName = "room_seq", allocationSize = 50)
     private  Long id;
     private String roomType;
     private BigDecimal roomPrice;
     private boolean isBooked = false;
-    @Lob
-    private Blob photo;
+    @Column(length = 64)
+    private String photoHash;
+    private String photoContentType;
 
     @OneToMany(mappedBy="room", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<BookedRoom> bookings;
@@ -32,6 +33,10 @@ public class Room {
     public Room() {
         this.bookings = new ArrayList<>();
     }
+    public boolean hasPhoto() {
+        return photoHash != null;
+    }
+
     public void addBooking(BookedRoom booking){
         if (bookings == null){
             bookings = new ArrayList<>();
@@ -0,0 +1,27 @@
+package com.dailycodework.RoomRental.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.sql.Blob;
+
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StoredPhoto {
+    @Id
+    @Column(length = 80)
+    private String hash;
+
+    private long size;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    private Blob content;
+}
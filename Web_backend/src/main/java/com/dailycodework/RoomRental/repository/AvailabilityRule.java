@@ -0,0 +1,26 @@
+package com.dailycodework.RoomRental.repository;
+
+import java.time.LocalDate;
+
+
+/**
+ * The single definition of when two stays clash. Stays are half-open date ranges
+ * [checkIn, checkOut): a guest checking out on the day another checks in does not clash.
+ * {@link #OVERLAPS} is the same rule as a JPQL predicate over a booking aliased {@code b}.
+ */
+public final class AvailabilityRule {
+    public static final String OVERLAPS =
+            "(b.checkInDate < :checkOutDate AND b.checkOutDate > :checkInDate)";
+
+    private AvailabilityRule() {
+    }
+
+    public static boolean overlaps(LocalDate checkInDate, LocalDate checkOutDate,
+                                   LocalDate otherCheckInDate, LocalDate otherCheckOutDate) {
+        return checkInDate.isBefore(otherCheckOutDate) && otherCheckInDate.isBefore(checkOutDate);
+    }
+
+    public static boolean isValidStay(LocalDate checkInDate, LocalDate checkOutDate) {
+        return checkInDate != null && checkOutDate != null && checkInDate.isBefore(checkOutDate);
+    }
+}
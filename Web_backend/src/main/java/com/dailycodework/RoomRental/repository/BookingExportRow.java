@@ -0,0 +1,24 @@
+package com.dailycodework.RoomRental.repository;
+
+import java.time.LocalDate;
+
+
+public interface BookingExportRow {
+    Long getBookingId();
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    String getGuestFullName();
+
+    String getGuestEmail();
+
+    Integer getNumOfAdults();
+
+    Integer getNumOfChildren();
+
+    String getBookingConfirmationCode();
+}
@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.repository;
+
+import java.time.LocalDate;
+
+
+public interface BookingInterval {
+    Long getBookingId();
+
+    Long getRoomId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+}
@@ -1,17 +1,60 @@
 package com.dailycodework.RoomRental.repository;
 
 import com.dailycodework.RoomRental.model.BookedRoom;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface BookingRepository extends JpaRepository<BookedRoom, Long> {
 
     List<BookedRoom> findByRoomId(Long roomId);
 
+    @Query("SELECT CASE WHEN EXISTS (" +
+            "  SELECT b.bookingId FROM BookedRoom b " +
+            "  WHERE b.room.id = :roomId AND " + AvailabilityRule.OVERLAPS +
+            ") THEN true ELSE false END")
+    boolean existsOverlappingBooking(Long roomId, LocalDate checkInDate, LocalDate checkOutDate);
+
  Optional<BookedRoom> findByBookingConfirmationCode(String confirmationCode);
 
     List<BookedRoom> findByGuestEmail(String email);
+
+    @EntityGraph(attributePaths = "room")
+    Slice<BookedRoom> findByBookingIdGreaterThanOrderByBookingIdAsc(Long bookingId, Pageable pageable);
+
+    @Query("SELECT b.bookingId AS bookingId, b.room.id AS roomId, " +
+            " b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate FROM BookedRoom b")
+    List<BookingInterval> findAllBookingIntervals();
+
+    /**
+     * Bookings of the given rooms that overlap [checkInDate, checkOutDate); a batch passes the
+     * envelope of all its stays and checks each item against the result.
+     */
+    @Query("SELECT b.bookingId AS bookingId, b.room.id AS roomId, " +
+            " b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate FROM BookedRoom b " +
+            " WHERE b.room.id IN :roomIds AND " + AvailabilityRule.OVERLAPS)
+    List<BookingInterval> findBookingIntervals(Collection<Long> roomIds, LocalDate checkInDate, LocalDate checkOutDate);
+
+    /**
+     * Every booking as an unmanaged projection, streamed like {@link RoomRepository#streamAllForExport()}.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = RoomRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b.bookingId AS bookingId, b.room.id AS roomId, b.checkInDate AS checkInDate, " +
+            " b.checkOutDate AS checkOutDate, b.guestFullName AS guestFullName, b.guestEmail AS guestEmail, " +
+            " b.NumOfAdults AS numOfAdults, b.NumOfChildren AS numOfChildren, " +
+            " b.bookingConfirmationCode AS bookingConfirmationCode FROM BookedRoom b ORDER BY b.bookingId")
+    Stream<BookingExportRow> streamAllForExport();
 }
@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.repository;
+
+import java.math.BigDecimal;
+
+
+public interface RoomExportRow {
+    Long getId();
+
+    String getRoomType();
+
+    BigDecimal getRoomPrice();
+
+    Boolean getBooked();
+}
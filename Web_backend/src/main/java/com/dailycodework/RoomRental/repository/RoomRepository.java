@@ -1,25 +1,80 @@
 package com.dailycodework.RoomRental.repository;
 
 import com.dailycodework.RoomRental.model.Room;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
+    String EXPORT_FETCH_SIZE = "1000";
 
     @Query("SELECT DISTINCT r.roomType FROM Room r")
     List<String> findDistinctRoomTypes();
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :roomId")
+    Optional<Room> findByIdForUpdate(Long roomId);
+
+    /**
+     * Locks the rooms in id order, so two batches sharing rooms cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id IN :roomIds ORDER BY r.id")
+    List<Room> findAllByIdForUpdate(Collection<Long> roomIds);
+
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN FETCH r.bookings")
+    List<Room> findAllWithBookings();
+
+    @Query("SELECT r.id FROM Room r WHERE r.id > :afterId ORDER BY r.id")
+    Slice<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r FROM Room r LEFT JOIN FETCH r.bookings WHERE r.id IN :ids ORDER BY r.id")
+    List<Room> findAllWithBookingsByIdIn(List<Long> ids);
+
+    @Query("SELECT r.id AS id, r.roomType AS roomType FROM Room r")
+    List<RoomTypeView> findAllRoomTypeViews();
+
     @Query(" SELECT r FROM Room r " +
             " WHERE r.roomType LIKE %:roomType% " +
-            " AND r.id NOT IN (" +
-            "  SELECT br.room.id FROM BookedRoom br " +
-            "  WHERE ((br.checkInDate <= :checkOutDate) AND (br.checkOutDate >= :checkInDate))" +
+            " AND NOT EXISTS (" +
+            "  SELECT b.bookingId FROM BookedRoom b " +
+            "  WHERE b.room = r AND " + AvailabilityRule.OVERLAPS +
             ")")
-
     List<Room> findAvailableRoomsByDatesAndType(LocalDate checkInDate, LocalDate checkOutDate, String roomType);
-}
 
+    /**
+     * The rooms among {@code ids} that are still free for the stay according to the database;
+     * re-checks candidates from the node-local availability index against bookings made elsewhere.
+     */
+    @Query(" SELECT r FROM Room r " +
+            " WHERE r.id IN :ids " +
+            " AND NOT EXISTS (" +
+            "  SELECT b.bookingId FROM BookedRoom b " +
+            "  WHERE b.room = r AND " + AvailabilityRule.OVERLAPS +
+            ")")
+    List<Room> findAvailableRoomsByIdIn(List<Long> ids, LocalDate checkInDate, LocalDate checkOutDate);
+
+    /**
+     * Every room, one projection at a time: unmanaged rows fetched in chunks of
+     * {@value #EXPORT_FETCH_SIZE}, so an export runs in constant memory. Must be consumed inside
+     * a transaction and closed.
+     */
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT r.id AS id, r.roomType AS roomType, r.roomPrice AS roomPrice, r.isBooked AS booked " +
+            "FROM Room r ORDER BY r.id")
+    Stream<RoomExportRow> streamAllForExport();
+}
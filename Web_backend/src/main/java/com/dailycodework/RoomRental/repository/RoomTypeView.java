@@ -0,0 +1,8 @@
+package com.dailycodework.RoomRental.repository;
+
+
+public interface RoomTypeView {
+    Long getId();
+
+    String getRoomType();
+}
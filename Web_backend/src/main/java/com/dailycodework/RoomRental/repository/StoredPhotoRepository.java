@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.repository;
+
+import com.dailycodework.RoomRental.model.StoredPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+
+public interface StoredPhotoRepository extends JpaRepository<StoredPhoto, String> {
+
+    @Query("SELECT p.size FROM StoredPhoto p WHERE p.hash = :hash")
+    Optional<Long> findSizeByHash(String hash);
+}
@@ -1,8 +1,12 @@
 package com.dailycodework.RoomRental.repository;
 
 import com.dailycodework.RoomRental.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -12,4 +16,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     void deleteByEmail(String email);
 
    Optional<User> findByEmail(String email);
+
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    Slice<Long> findIdsAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN :ids ORDER BY u.id")
+    List<User> findAllWithRolesByIdIn(List<Long> ids);
 }
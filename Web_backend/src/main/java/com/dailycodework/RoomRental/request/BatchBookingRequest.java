@@ -0,0 +1,26 @@
+package com.dailycodework.RoomRental.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+/**
+ * Several stays booked under one guest, e.g. a tour group. Each item names its room and dates.
+ */
+@Data
+public class BatchBookingRequest {
+    private String guestFullName;
+    private String guestEmail;
+    private List<Item> bookings;
+
+    @Data
+    public static class Item {
+        private Long roomId;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        private int numOfAdults;
+        private int numOfChildren;
+    }
+}
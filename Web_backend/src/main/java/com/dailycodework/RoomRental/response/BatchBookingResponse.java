@@ -0,0 +1,33 @@
+package com.dailycodework.RoomRental.response;
+
+import com.dailycodework.RoomRental.service.BookingOutcome;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResponse {
+    private boolean booked;
+    private List<Item> results;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private int index;
+        private Long roomId;
+        private LocalDate checkInDate;
+        private LocalDate checkOutDate;
+        private BookingOutcome outcome;
+        private Long bookingId;
+        private String bookingConfirmationCode;
+    }
+}
@@ -1,5 +1,6 @@
 package com.dailycodework.RoomRental.response;
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,6 +11,7 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonView(Views.Summary.class)
 public class BookingResponse {
 
     private Long id;
@@ -0,0 +1,32 @@
+package com.dailycodework.RoomRental.response;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset listing. Pass {@code nextCursor} back as {@code ?cursor=} to get the
+ * following page; it is {@code null} on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonView(Views.Summary.class)
+public class CursorPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+    private int size;
+
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, Long> idOf, Function<E, T> mapper) {
+        List<E> content = slice.getContent();
+        Long nextCursor = slice.hasNext() && !content.isEmpty()
+                ? idOf.apply(content.get(content.size() - 1))
+                : null;
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, slice.getSize());
+    }
+}
@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportLineError {
+    private long line;
+    private String error;
+}
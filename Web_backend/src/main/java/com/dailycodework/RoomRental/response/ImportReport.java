@@ -0,0 +1,20 @@
+package com.dailycodework.RoomRental.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+/**
+ * Progress of a room import, sent after every committed batch and once more with
+ * {@code done} set when the upload has been read to the end.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+    private long linesRead;
+    private long imported;
+    private long rejected;
+    private boolean done;
+}
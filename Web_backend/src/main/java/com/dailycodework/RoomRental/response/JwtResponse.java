@@ -15,6 +15,7 @@ public class JwtResponse {
     private String token;
     private String type = "Bearer";
     private List<String> roles;
+    private String refreshToken;
 
     public JwtResponse(Long id, String email, String token, List<String> roles) {
         this.id = id;
@@ -22,4 +23,9 @@ public class JwtResponse {
         this.token = token;
         this.roles = roles;
     }
+
+    public JwtResponse(Long id, String email, String token, List<String> roles, String refreshToken) {
+        this(id, email, token, roles);
+        this.refreshToken = refreshToken;
+    }
 }
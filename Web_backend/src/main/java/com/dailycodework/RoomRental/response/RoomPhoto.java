@@ -0,0 +1,17 @@
+package com.dailycodework.RoomRental.response;
+
+import com.dailycodework.RoomRental.storage.PhotoSize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class RoomPhoto {
+    private Long roomId;
+    private String hash;
+    private String key;
+    private PhotoSize size;
+    private long length;
+    private String contentType;
+}
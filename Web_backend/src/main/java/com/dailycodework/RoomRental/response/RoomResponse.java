@@ -1,6 +1,7 @@
 package com.dailycodework.RoomRental.response;
 
 
+import com.fasterxml.jackson.annotation.JsonView;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.apache.tomcat.util.codec.binary.Base64;
@@ -11,12 +12,16 @@ import java.util.List;
 
 @Data
 @NoArgsConstructor
+@JsonView(Views.Summary.class)
 public class RoomResponse {
     private Long id;
     private String roomType;
     private BigDecimal roomPrice;
     private boolean isBooked;
     private String photo;
+    private String photoUrl;
+    private String photoVersion;
+    @JsonView(Views.Detail.class)
     private List<BookingResponse>bookings;
 
     public RoomResponse(Long id, String roomType, BigDecimal roomPrice) {
@@ -0,0 +1,26 @@
+package com.dailycodework.RoomRental.response;
+
+/**
+ * Jackson views for the room payloads. {@link Summary} is what listings need; {@link Detail}
+ * adds each room's bookings. Endpoints accept {@code ?view=summary|detail}.
+ */
+public final class Views {
+    public interface Summary {
+    }
+
+    public interface Detail extends Summary {
+    }
+
+    private Views() {
+    }
+
+    public static Class<?> from(String view, Class<?> defaultView) {
+        if ("detail".equalsIgnoreCase(view)) {
+            return Detail.class;
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return Summary.class;
+        }
+        return defaultView;
+    }
+}
@@ -2,7 +2,9 @@ package com.dailycodework.RoomRental.security;
 import com.dailycodework.RoomRental.security.jwt.AuthTokenFilter;
 import com.dailycodework.RoomRental.security.jwt.JwtAuthEntryPoint;
 import com.dailycodework.RoomRental.security.user.HotelUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +18,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 
 
@@ -26,6 +31,9 @@ public class WebSecurityConfig {
     private final HotelUserDetailsService userDetailsService;
     private final JwtAuthEntryPoint jwtAuthEntryPoint;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public AuthTokenFilter authenticationTokenFilter(){
         return new AuthTokenFilter();
@@ -55,14 +63,27 @@ public class WebSecurityConfig {
                         exception -> exception.authenticationEntryPoint(jwtAuthEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // the request that started a streaming response was authorized already
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // method security is off, so admin-only listings and bulk endpoints are guarded here
+                        .requestMatchers("/rooms/import", "/rooms/export", "/bookings/export",
+                                "/bookings/all-bookings/**", "/users/page").hasRole("ADMIN")
                         .requestMatchers("/auth/**", "/rooms/**","/bookings/**")
-                        .permitAll().requestMatchers("/roles/**").hasRole("ADMIN")
+                        .permitAll().requestMatchers("/actuator/health/**").permitAll()
+                        // the anonymous scrape is only answered on the internal management port
+                        .requestMatchers(prometheusScrape()).permitAll()
+                        .requestMatchers("/roles/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated());
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationTokenFilter(), UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
+    private RequestMatcher prometheusScrape() {
+        RequestMatcher onManagementPort = request -> managementPort > 0 && request.getLocalPort() == managementPort;
+        return new AndRequestMatcher(new AntPathRequestMatcher("/actuator/prometheus"), onManagementPort);
+    }
+
 
 
 
@@ -1,6 +1,5 @@
 package com.dailycodework.RoomRental.security.jwt;
 
-import com.dailycodework.RoomRental.security.user.HotelUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -26,7 +25,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private HotelUserDetailsService userDetailsService;
+    private TokenPrincipalResolver principalResolver;
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -34,13 +33,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try{
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateToken(jwt)){
-                String email = jwtUtils.getUserNameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                var authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (jwt != null){
+                jwtUtils.parseVerifiedClaims(jwt).ifPresent(claims -> {
+                    UserDetails userDetails = principalResolver.resolve(claims);
+                    var authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                });
             }
         }catch (Exception e){
             logger.error("Cannot set user authentication : {} ", e.getMessage());
@@ -4,66 +4,128 @@ import com.dailycodework.RoomRental.security.user.HotelUserDetails;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 
-
+/**
+ * Signs and verifies tokens with keys decoded once at startup. The parser is immutable and shared
+ * by all request threads.
+ * <p>
+ * Tokens are signed with {@code auth.token.jwtSecret} and carry its id ({@code auth.token.key-id})
+ * in the {@code kid} header. Keys listed in {@code auth.token.previous-keys} as
+ * {@code kid:base64secret} pairs are still accepted for verification, so a secret can be rotated
+ * without logging everyone out. Tokens without a {@code kid} are checked against the current key.
+ */
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Value("${auth.token.jwtSecret}")
-    private String jwtSecret;
+    public static final String ROLES_CLAIM = "roles";
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final JwtParser parser;
+    private final int jwtExpirationMs;
 
-    @Value("${auth.token.expirationInMils}")
-    private int jwtExpirationMs;
+    public JwtUtils(@Value("${auth.token.jwtSecret}") String jwtSecret,
+                    @Value("${auth.token.key-id:primary}") String signingKeyId,
+                    @Value("${auth.token.previous-keys:}") List<String> previousKeys,
+                    @Value("${auth.token.expirationInMils}") int jwtExpirationMs) {
+        this.signingKeyId = signingKeyId;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtExpirationMs = jwtExpirationMs;
+        Map<String, Key> keys = new LinkedHashMap<>();
+        keys.put(signingKeyId, signingKey);
+        for (String entry : previousKeys) {
+            if (!StringUtils.hasText(entry)) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("auth.token.previous-keys entries must be kid:secret");
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(),
+                    Keys.hmacShaKeyFor(Decoders.BASE64.decode(entry.substring(separator + 1).trim())));
+        }
+        this.verificationKeys = Map.copyOf(keys);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateJwtTokenForUser(Authentication authentication){
         HotelUserDetails userPrincipal = (HotelUserDetails) authentication.getPrincipal();
         List<String> roles = userPrincipal.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority).toList();
+        Date now = new Date();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
                 .setSubject(userPrincipal.getUsername())
-                .claim("roles", roles)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime()+jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256).compact();
+                .claim(ROLES_CLAIM, roles)
+                .claim(USER_ID_CLAIM, userPrincipal.getId())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(signingKey, SignatureAlgorithm.HS256).compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    private Key keyFor(String keyId) {
+        if (keyId == null) {
+            return signingKey;
+        }
+        Key key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new SignatureException("Unknown signing key id " + keyId);
+        }
+        return key;
     }
+
     public String getUserNameFromToken(String token){
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
+
     public boolean validateToken(String token){
+        return parseVerifiedClaims(token).isPresent();
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims in a single parse.
+     */
+    public Optional<Claims> parseVerifiedClaims(String token){
         try{
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         }catch(MalformedJwtException e){
             logger.error("Invalid jwt token : {} ", e.getMessage());
         }catch (ExpiredJwtException e){
             logger.error("Expired token : {} ", e.getMessage());
         }catch (UnsupportedJwtException e){
             logger.error("This token is not supported : {} ", e.getMessage());
+        }catch (io.jsonwebtoken.security.SecurityException e){
+            logger.error("Invalid token signature : {} ", e.getMessage());
         }catch (IllegalArgumentException e){
             logger.error("No  claims found : {} ", e.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
-
-
 }
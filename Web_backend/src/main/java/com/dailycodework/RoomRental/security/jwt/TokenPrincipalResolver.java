@@ -0,0 +1,80 @@
+package com.dailycodework.RoomRental.security.jwt;
+
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.dailycodework.RoomRental.security.user.HotelUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Turns verified token claims into the request principal.
+ * <p>
+ * In {@code claims} mode (the default) the principal is built from the subject, {@code uid} and
+ * {@code roles} claims without touching the database. Tokens issued before the {@code uid}
+ * claim existed fall back to a lookup. In {@code lookup} mode every request loads the user,
+ * so deleted users and role changes take effect immediately; a positive
+ * {@code auth.token.principal-cache-ttl} bounds that to one lookup per user per TTL.
+ */
+@Component
+public class TokenPrincipalResolver {
+    private final HotelUserDetailsService userDetailsService;
+    private final boolean lookupMode;
+    private final Cache<String, UserDetails> principalCache;
+
+    public TokenPrincipalResolver(HotelUserDetailsService userDetailsService,
+                                  @Value("${auth.token.principal-source:claims}") String principalSource,
+                                  @Value("${auth.token.principal-cache-ttl:0s}") Duration cacheTtl,
+                                  @Value("${auth.token.principal-cache-size:10000}") long cacheSize) {
+        this.userDetailsService = userDetailsService;
+        this.lookupMode = "lookup".equalsIgnoreCase(principalSource);
+        this.principalCache = cacheTtl.isZero() || cacheTtl.isNegative()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(cacheTtl).maximumSize(cacheSize).build();
+    }
+
+    public UserDetails resolve(Claims claims) {
+        String email = claims.getSubject();
+        if (!lookupMode) {
+            List<?> roles = claims.get(JwtUtils.ROLES_CLAIM, List.class);
+            Number userId = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+            if (roles != null && userId != null) {
+                return HotelUserDetails.buildUserDetails(userId.longValue(), email,
+                        roles.stream().map(String::valueOf).toList());
+            }
+        }
+        if (principalCache == null) {
+            return userDetailsService.loadUserByUsername(email);
+        }
+        return principalCache.get(email, userDetailsService::loadUserByUsername);
+    }
+
+    /**
+     * Drops the cached principal of a deleted user or of a user whose roles changed. Inside a
+     * transaction the eviction waits for the commit: evicting earlier would let a concurrent lookup
+     * put the old user and roles back before the change is visible. A lookup still running at commit
+     * time is removed too, because Caffeine waits for an in-flight load of the key before invalidating it.
+     */
+    public void evict(String email) {
+        if (principalCache == null || email == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principalCache.invalidate(email);
+                }
+            });
+        } else {
+            principalCache.invalidate(email);
+        }
+    }
+}
@@ -23,6 +23,17 @@ public class HotelUserDetails implements UserDetails {
     private String password;
     private Collection<GrantedAuthority> authorities;
 
+    /**
+     * Principal for a request authenticated by token claims; there is no password to carry.
+     */
+    public static HotelUserDetails buildUserDetails(Long id, String email, Collection<String> roles){
+        List<GrantedAuthority> authorities = roles
+                .stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+        return new HotelUserDetails(id, email, null, authorities);
+    }
+
     public static HotelUserDetails buildUserDetails(User user){
         List<GrantedAuthority> authorities = user.getRoles()
                 .stream()
@@ -0,0 +1,19 @@
+package com.dailycodework.RoomRental.service;
+
+
+/**
+ * Result of one item of a batch booking. A batch is all-or-nothing: items are either all
+ * {@link #BOOKED}, or none are and the ones that were not at fault report {@link #AVAILABLE}.
+ */
+public enum BookingOutcome {
+    BOOKED,
+    AVAILABLE,
+    INVALID_DATES,
+    CONFLICTS_WITH_BATCH,
+    ROOM_NOT_FOUND,
+    UNAVAILABLE;
+
+    public boolean isRejection() {
+        return this != BOOKED && this != AVAILABLE;
+    }
+}
@@ -3,10 +3,15 @@ package com.dailycodework.RoomRental.service;
 import com.dailycodework.RoomRental.exception.InvalidBookingRequestException;
 import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
 import com.dailycodework.RoomRental.model.BookedRoom;
-import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
 import com.dailycodework.RoomRental.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -14,7 +19,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingService implements IBookingService {
     private final BookingRepository bookingRepository;
-    private final IRoomService roomService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final ReservationEngine reservationEngine;
+    private final BusinessMetrics businessMetrics;
+    private final CatalogueVersion catalogueVersion;
+
+    @Value("${booking.batch.max-size:50}")
+    private int maxBatchSize = 50;
 
 
     @Override
@@ -22,6 +33,11 @@ public class BookingService implements IBookingService {
         return bookingRepository.findAll();
     }
 
+    @Override
+    public Slice<BookedRoom> getBookingsPage(Long cursor, Pageable pageable) {
+        return bookingRepository.findByBookingIdGreaterThanOrderByBookingIdAsc(PageSettings.afterId(cursor), pageable);
+    }
+
 
     @Override
     public List<BookedRoom> getBookingsByUserEmail(String email) {
@@ -31,6 +47,8 @@ public class BookingService implements IBookingService {
     @Override
     public void cancelBooking(Long bookingId) {
         bookingRepository.deleteById(bookingId);
+        availabilityIndex.removeBooking(bookingId);
+        catalogueVersion.changed();
     }
 
     @Override
@@ -40,52 +58,84 @@ public class BookingService implements IBookingService {
 
     @Override
     public String saveBooking(Long roomId, BookedRoom bookingRequest) {
-        if (bookingRequest.getCheckOutDate().isBefore(bookingRequest.getCheckInDate())){
+        if (!AvailabilityRule.isValidStay(bookingRequest.getCheckInDate(), bookingRequest.getCheckOutDate())){
+            businessMetrics.bookingRejected(BusinessMetrics.REJECTED_INVALID_DATES);
             throw new InvalidBookingRequestException("Check-in date must come before check-out date");
         }
-        Room room = roomService.getRoomById(roomId).get();
-        List<BookedRoom> existingBookings = room.getBookings();
-        boolean roomIsAvailable = roomIsAvailable(bookingRequest,existingBookings);
-        if (roomIsAvailable){
-            room.addBooking(bookingRequest);
-            bookingRepository.save(bookingRequest);
-        }else{
-            throw  new InvalidBookingRequestException("Sorry, This room is not available for the selected dates;");
+        BookedRoom booking;
+        try{
+            booking = reservationEngine.reserve(roomId, bookingRequest);
+        }catch (InvalidBookingRequestException e){
+            businessMetrics.bookingRejected(BusinessMetrics.REJECTED_UNAVAILABLE);
+            throw e;
         }
-        return bookingRequest.getBookingConfirmationCode();
+        catalogueVersion.changed();
+        businessMetrics.bookingCreated();
+        return booking.getBookingConfirmationCode();
     }
 
     @Override
-    public BookedRoom findByBookingConfirmationCode(String confirmationCode) {
-        return bookingRepository.findByBookingConfirmationCode(confirmationCode)
-                .orElseThrow(() -> new ResourceNotFoundException("No booking found with booking code :"+confirmationCode));
-
+    public List<BookingOutcome> saveBookings(List<Long> roomIds, List<BookedRoom> bookingRequests) {
+        if (bookingRequests.isEmpty() || bookingRequests.size() > maxBatchSize) {
+            throw new InvalidBookingRequestException("A batch must contain between 1 and " + maxBatchSize + " bookings");
+        }
+        List<BookingOutcome> outcomes = checkBatch(roomIds, bookingRequests);
+        if (outcomes.stream().noneMatch(BookingOutcome::isRejection)) {
+            outcomes = reservationEngine.reserveAll(roomIds, bookingRequests);
+        }
+        if (outcomes.stream().allMatch(outcome -> outcome == BookingOutcome.BOOKED)) {
+            catalogueVersion.changed();
+            outcomes.forEach(outcome -> businessMetrics.bookingCreated());
+            return outcomes;
+        }
+        for (BookingOutcome outcome : outcomes) {
+            if (outcome == BookingOutcome.INVALID_DATES) {
+                businessMetrics.bookingRejected(BusinessMetrics.REJECTED_INVALID_DATES);
+            } else if (outcome == BookingOutcome.UNAVAILABLE || outcome == BookingOutcome.CONFLICTS_WITH_BATCH) {
+                businessMetrics.bookingRejected(BusinessMetrics.REJECTED_UNAVAILABLE);
+            }
+        }
+        return outcomes;
     }
 
-
-    private boolean roomIsAvailable(BookedRoom bookingRequest, List<BookedRoom> existingBookings) {
-        return existingBookings.stream()
-                .noneMatch(existingBooking ->
-                        bookingRequest.getCheckInDate().equals(existingBooking.getCheckInDate())
-                                || bookingRequest.getCheckOutDate().isBefore(existingBooking.getCheckOutDate())
-                                || (bookingRequest.getCheckInDate().isAfter(existingBooking.getCheckInDate())
-                                && bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckOutDate()))
-                                || (bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckInDate())
-
-                                && bookingRequest.getCheckOutDate().equals(existingBooking.getCheckOutDate()))
-                                || (bookingRequest.getCheckInDate().isBefore(existingBooking.getCheckInDate())
-
-                                && bookingRequest.getCheckOutDate().isAfter(existingBooking.getCheckOutDate()))
-
-                                || (bookingRequest.getCheckInDate().equals(existingBooking.getCheckOutDate())
-                                && bookingRequest.getCheckOutDate().equals(existingBooking.getCheckInDate()))
-
-                                || (bookingRequest.getCheckInDate().equals(existingBooking.getCheckOutDate())
-                                && bookingRequest.getCheckOutDate().equals(bookingRequest.getCheckInDate()))
-                );
+    /**
+     * The checks that need no database: a room id, valid dates and no overlap with an earlier
+     * item of the same batch for the same room.
+     */
+    private static List<BookingOutcome> checkBatch(List<Long> roomIds, List<BookedRoom> bookingRequests) {
+        List<BookingOutcome> outcomes = new ArrayList<>(bookingRequests.size());
+        for (int i = 0; i < bookingRequests.size(); i++) {
+            BookedRoom request = bookingRequests.get(i);
+            if (roomIds.get(i) == null) {
+                outcomes.add(BookingOutcome.ROOM_NOT_FOUND);
+            } else if (!AvailabilityRule.isValidStay(request.getCheckInDate(), request.getCheckOutDate())) {
+                outcomes.add(BookingOutcome.INVALID_DATES);
+            } else {
+                outcomes.add(conflictsWithEarlierItem(roomIds, bookingRequests, outcomes, i)
+                        ? BookingOutcome.CONFLICTS_WITH_BATCH : BookingOutcome.AVAILABLE);
+            }
+        }
+        return outcomes;
     }
 
+    private static boolean conflictsWithEarlierItem(List<Long> roomIds, List<BookedRoom> bookingRequests,
+                                                    List<BookingOutcome> outcomes, int index) {
+        BookedRoom request = bookingRequests.get(index);
+        for (int j = 0; j < index; j++) {
+            BookedRoom earlier = bookingRequests.get(j);
+            if (outcomes.get(j) != BookingOutcome.INVALID_DATES && roomIds.get(index).equals(roomIds.get(j))
+                    && AvailabilityRule.overlaps(request.getCheckInDate(), request.getCheckOutDate(),
+                    earlier.getCheckInDate(), earlier.getCheckOutDate())) {
+                return true;
+            }
+        }
+        return false;
+    }
 
+    @Override
+    public BookedRoom findByBookingConfirmationCode(String confirmationCode) {
+        return bookingRepository.findByBookingConfirmationCode(confirmationCode)
+                .orElseThrow(() -> new ResourceNotFoundException("No booking found with booking code :"+confirmationCode));
 
-
+    }
 }
@@ -0,0 +1,50 @@
+package com.dailycodework.RoomRental.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counters for booking and login outcomes. Request timings come from {@code http.server.requests}
+ * and repository timings from {@code spring.data.repository.invocations}.
+ */
+@Component
+public class BusinessMetrics {
+    public static final String REJECTED_INVALID_DATES = "invalid_dates";
+    public static final String REJECTED_UNAVAILABLE = "unavailable";
+
+    private final Counter bookingsCreated;
+    private final Counter bookingsRejectedInvalidDates;
+    private final Counter bookingsRejectedUnavailable;
+    private final Counter loginFailures;
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        this.bookingsCreated = Counter.builder("bookings.created")
+                .description("Bookings saved")
+                .register(meterRegistry);
+        this.bookingsRejectedInvalidDates = rejected(meterRegistry, REJECTED_INVALID_DATES);
+        this.bookingsRejectedUnavailable = rejected(meterRegistry, REJECTED_UNAVAILABLE);
+        this.loginFailures = Counter.builder("auth.login.failures")
+                .description("Logins refused because of bad credentials or a disabled account")
+                .register(meterRegistry);
+    }
+
+    public void bookingCreated() {
+        bookingsCreated.increment();
+    }
+
+    public void bookingRejected(String reason) {
+        (REJECTED_INVALID_DATES.equals(reason) ? bookingsRejectedInvalidDates : bookingsRejectedUnavailable).increment();
+    }
+
+    public void loginFailed() {
+        loginFailures.increment();
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("bookings.rejected")
+                .description("Booking requests refused")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,106 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+
+/**
+ * Version of the room catalogue, used as the ETag of the room read endpoints and as the first part
+ * of every catalogue cache key (see {@link CacheConfig#CATALOGUE_KEY}). The version is the single
+ * {@code catalogue_version} row, so every node reads the same one: a write on one node changes the
+ * ETag and the cache keys of all of them, and entries cached under the old version are never looked
+ * up again. The price is one primary-key read per catalogue request.
+ * <p>
+ * Every room or booking write calls {@link #changed()}. The row is bumped once the write has
+ * committed, in its own short transaction, so concurrent bookings never queue on the row lock. A
+ * cached load is stored under the version that was current when it started, so a load that read
+ * the database before a write committed can only be returned alongside the old ETag. This node's
+ * catalogue caches are cleared as well; on other nodes the unreachable entries age out with the
+ * cache TTL.
+ * <p>
+ * The ETag is weak because one version has several representations (summary and detail views,
+ * gzipped or not); Tomcat also refuses to compress strong-ETag responses.
+ */
+@Component
+public class CatalogueVersion {
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public CatalogueVersion(CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Version current() {
+        return jdbcTemplate.queryForObject("SELECT version, changed_at FROM catalogue_version WHERE id = 1",
+                (rows, rowNum) -> new Version(rows.getLong(1), rows.getTimestamp(2).getTime()));
+    }
+
+    public void changed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish();
+                }
+            });
+        } else {
+            publish();
+        }
+    }
+
+    private void publish() {
+        newTransaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE catalogue_version SET version = version + 1, changed_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now())));
+        clear(CacheConfig.ROOMS);
+        clear(CacheConfig.ROOM_TYPES);
+        clear(CacheConfig.ROOM_LIST);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    public static final class Version {
+        private final String eTag;
+        private final long counter;
+        private final long lastModified;
+
+        private Version(long counter, long lastModified) {
+            this.eTag = "W/\"" + counter + "\"";
+            this.counter = counter;
+            this.lastModified = lastModified;
+        }
+
+        public long getCounter() {
+            return counter;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.dailycodework.RoomRental.service;
 
 import com.dailycodework.RoomRental.model.BookedRoom;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,9 +14,13 @@ public interface IBookingService {
 
     String saveBooking(Long roomId, BookedRoom bookingRequest);
 
+    List<BookingOutcome> saveBookings(List<Long> roomIds, List<BookedRoom> bookingRequests);
+
     BookedRoom findByBookingConfirmationCode(String confirmationCode);
 
     List<BookedRoom> getAllBookings();
 
+    Slice<BookedRoom> getBookingsPage(Long cursor, Pageable pageable);
+
     List<BookedRoom> getBookingsByUserEmail(String email);
 }
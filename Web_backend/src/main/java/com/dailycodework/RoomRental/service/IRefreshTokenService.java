@@ -0,0 +1,11 @@
+package com.dailycodework.RoomRental.service;
+
+
+
+public interface IRefreshTokenService {
+    String issue(Long userId);
+
+    IssuedRefreshToken rotate(String refreshToken);
+
+    void revoke(String refreshToken);
+}
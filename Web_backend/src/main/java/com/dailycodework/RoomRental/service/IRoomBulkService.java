@@ -0,0 +1,17 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.response.ImportReport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+
+
+public interface IRoomBulkService {
+    ImportReport importRooms(Reader upload, TransferFormat format, Integer batchSize,
+                             RoomImportListener listener) throws IOException;
+
+    void exportRooms(TransferFormat format, OutputStream out) throws IOException;
+
+    void exportBookings(TransferFormat format, OutputStream out) throws IOException;
+}
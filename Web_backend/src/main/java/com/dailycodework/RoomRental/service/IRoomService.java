@@ -1,9 +1,14 @@
 package com.dailycodework.RoomRental.service;
 
 import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.response.RoomPhoto;
+import com.dailycodework.RoomRental.storage.PhotoSize;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
@@ -19,7 +24,15 @@ public interface IRoomService {
 
     List<Room> getAllRooms();
 
-    byte[] getRoomPhotoByRoomId(Long roomId) throws SQLException;
+    List<Room> getAllRoomsWithBookings();
+
+    Slice<Room> getRoomsPage(Long cursor, Pageable pageable);
+
+    byte[] getRoomPhotoByRoomId(Long roomId);
+
+    RoomPhoto getRoomPhoto(Long roomId, PhotoSize size) throws IOException;
+
+    void writeRoomPhoto(RoomPhoto photo, OutputStream out) throws IOException;
 
     void deleteRoom(Long roomId);
 
@@ -1,6 +1,8 @@
 package com.dailycodework.RoomRental.service;
 
 import com.dailycodework.RoomRental.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -9,6 +11,7 @@ import java.util.List;
 public interface IUserService {
     User registerUser(User user);
     List<User> getUsers();
+    Slice<User> getUsersPage(Long cursor, Pageable pageable);
     void deleteUser(String email);
     User getUser(String email);
 }
@@ -0,0 +1,13 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+
+@Getter
+@AllArgsConstructor
+public class IssuedRefreshToken {
+    private String token;
+    private User user;
+}
@@ -0,0 +1,34 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+
+/**
+ * Logs booking confirmations. Stands in for the email, invoice and channel-manager handlers.
+ * Only the event id, booking id and confirmation code are logged; the guest's name and email
+ * in the payload stay out of the log.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoggingOutboxEventHandler implements OutboxEventHandler {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxEventHandler.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(String eventType) {
+        return OutboxEvent.BOOKING_CONFIRMED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        String confirmationCode = objectMapper.readTree(event.getPayload()).path("confirmationCode").asText();
+        logger.info("Outbox event {}: booking {} confirmed with code {}",
+                event.getId(), event.getAggregateId(), confirmationCode);
+    }
+}
@@ -0,0 +1,156 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.model.OutboxEvent;
+import com.dailycodework.RoomRental.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Publishes pending outbox events to the registered handlers in batches, off the request path.
+ * A batch is claimed in a short transaction that pushes its {@code availableAt} out by
+ * {@code outbox.lease}, so no other node picks it up; the handlers then run with no transaction or
+ * row lock held, and a second short transaction records each outcome. Events of a node that dies
+ * mid-batch become due again once the lease runs out. A failing event is retried with exponential
+ * backoff up to {@code outbox.max-attempts} and then left in the table with its last error.
+ */
+@Component
+public class OutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final Duration lease;
+    private final Counter published;
+    private final Counter failed;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<OutboxEventHandler> handlers,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${outbox.batch-size:100}") int batchSize,
+                            @Value("${outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${outbox.retention:7d}") Duration retention,
+                            @Value("${outbox.lease:5m}") Duration lease) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+        this.lease = lease;
+        this.published = Counter.builder("outbox.events")
+                .description("Outbox events handed to their handlers")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.events")
+                .description("Outbox events handed to their handlers")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch-interval-ms:1000}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    public int dispatchBatch() {
+        List<OutboxEvent> events = claimBatch();
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Exception> failures = new HashMap<>();
+        for (OutboxEvent event : events) {
+            Exception failure = publish(event);
+            if (failure != null) {
+                failures.put(event.getId(), failure);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(events, failures));
+        return events.size();
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.findDueForUpdate(now, maxAttempts, PageRequest.of(0, batchSize));
+            events.forEach(event -> event.setAvailableAt(now.plus(lease)));
+            return events;
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    private void recordOutcomes(List<OutboxEvent> events, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = events.stream().map(OutboxEvent::getId).toList();
+        for (OutboxEvent event : outboxEventRepository.findAllById(ids)) {
+            Exception failure = failures.get(event.getId());
+            if (failure == null) {
+                event.setPublishedAt(now);
+                event.setLastError(null);
+                published.increment();
+                continue;
+            }
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(abbreviate(failure.toString()));
+            event.setAvailableAt(now.plus(backoff(attempts)));
+            failed.increment();
+            logger.warn("Outbox event {} ({}) failed on attempt {}: {}",
+                    event.getId(), event.getEventType(), attempts, failure.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} published outbox events", purged);
+        }
+    }
+
+    private Exception publish(OutboxEvent event) {
+        try {
+            for (OutboxEventHandler handler : handlers) {
+                if (handler.supports(event.getEventType())) {
+                    handler.handle(event);
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String abbreviate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -0,0 +1,15 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.model.OutboxEvent;
+
+/**
+ * Receives outbox events from OutboxDispatcher. Every handler bean whose {@link #supports}
+ * matches is called; an exception leaves the event pending and it is retried with backoff,
+ * so handlers must tolerate seeing the same event more than once.
+ */
+public interface OutboxEventHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
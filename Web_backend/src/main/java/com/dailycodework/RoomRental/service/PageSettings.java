@@ -0,0 +1,32 @@
+package com.dailycodework.RoomRental.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageSettings {
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PageSettings(@Value("${pagination.default-page-size:20}") int defaultPageSize,
+                        @Value("${pagination.max-page-size:100}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Keyset pages always start at offset 0; the cursor goes into the WHERE clause instead.
+     */
+    public Pageable pageOf(Integer requestedSize) {
+        int size = requestedSize == null || requestedSize <= 0
+                ? defaultPageSize
+                : Math.min(requestedSize, maxPageSize);
+        return PageRequest.of(0, size);
+    }
+
+    public static long afterId(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+}
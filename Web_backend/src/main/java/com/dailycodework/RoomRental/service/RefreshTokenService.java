@@ -0,0 +1,104 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.exception.InvalidRefreshTokenException;
+import com.dailycodework.RoomRental.model.RefreshToken;
+import com.dailycodework.RoomRental.model.User;
+import com.dailycodework.RoomRental.repository.RefreshTokenRepository;
+import com.dailycodework.RoomRental.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Only a SHA-256 of each token is stored: the tokens are
+ * 256 random bits, so a slow password hash would add cost without adding safety.
+ * <p>
+ * Every refresh revokes the presented token and issues a new one in the same family. Presenting
+ * an already-rotated token means it leaked, so the whole family is revoked.
+ */
+@Service
+public class RefreshTokenService implements IRefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               @Value("${auth.token.refresh-expiration:30d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return save(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    @Override
+    @Transactional(dontRollbackOn = InvalidRefreshTokenException.class)
+    public IssuedRefreshToken rotate(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        if (current.isRevoked()) {
+            logger.warn("Refresh token reuse detected for user {}, revoking token family", current.getUser().getId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token has been revoked");
+        }
+        if (current.isExpired(now)) {
+            throw new InvalidRefreshTokenException("Refresh token has expired");
+        }
+        current.setRevokedAt(now);
+        String next = save(current.getUser(), current.getFamilyId());
+        return new IssuedRefreshToken(next, current.getUser());
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    private String save(User user, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(refreshTokenTtl));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    public static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.exception.InvalidBookingRequestException;
+import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.OutboxEvent;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
+import com.dailycodework.RoomRental.repository.BookingInterval;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.OutboxEventRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Serializes reservations per room. Inside a node, requests for the same room queue on a
+ * striped lock instead of each holding a pooled connection while blocked on the database;
+ * across nodes the room row is locked with SELECT ... FOR UPDATE for the duration of the
+ * availability check and insert. Requests for rooms on different stripes run in parallel.
+ * <p>
+ * The booking and its {@link OutboxEvent#BOOKING_CONFIRMED} event commit together; everything
+ * downstream of the confirmation runs later in OutboxDispatcher.
+ * <p>
+ * A batch takes the stripes of all its rooms in stripe order and locks the room rows in id
+ * order, then checks every item against one interval query and inserts all bookings or none.
+ */
+@Component
+public class ReservationEngine {
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Lock[] stripes;
+
+    public ReservationEngine(RoomRepository roomRepository,
+                             BookingRepository bookingRepository,
+                             RoomAvailabilityIndex availabilityIndex,
+                             OutboxEventRepository outboxEventRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${booking.lock-stripes:64}") int lockStripes) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new Lock[Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public BookedRoom reserve(Long roomId, BookedRoom bookingRequest) {
+        Lock lock = lockFor(roomId);
+        lock.lock();
+        try {
+            BookedRoom booking = transactionTemplate.execute(status -> {
+                Room room = roomRepository.findByIdForUpdate(roomId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Sorry, Room not found!"));
+                if (bookingRepository.existsOverlappingBooking(roomId,
+                        bookingRequest.getCheckInDate(), bookingRequest.getCheckOutDate())) {
+                    throw new InvalidBookingRequestException("Sorry, This room is not available for the selected dates;");
+                }
+                room.addBooking(bookingRequest);
+                BookedRoom saved = bookingRepository.save(bookingRequest);
+                outboxEventRepository.save(new OutboxEvent(OutboxEvent.BOOKING_CONFIRMED, saved.getBookingId(),
+                        confirmationPayload(roomId, saved), LocalDateTime.now()));
+                return saved;
+            });
+            availabilityIndex.addBooking(booking.getBookingId(), roomId,
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+            return booking;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Books every request or none of them. {@code roomIds} is aligned with {@code requests}; the
+     * result has one outcome per item, and on success the requests carry their ids and
+     * confirmation codes.
+     */
+    public List<BookingOutcome> reserveAll(List<Long> roomIds, List<BookedRoom> requests) {
+        List<Lock> locks = locksFor(roomIds);
+        locks.forEach(Lock::lock);
+        try {
+            List<BookingOutcome> outcomes = transactionTemplate.execute(status -> {
+                Map<Long, Room> rooms = new HashMap<>();
+                for (Room room : roomRepository.findAllByIdForUpdate(new TreeSet<>(roomIds))) {
+                    rooms.put(room.getId(), room);
+                }
+                Map<Long, List<BookingInterval>> booked = bookedIntervals(rooms.keySet(), requests);
+                List<BookingOutcome> result = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    result.add(availability(rooms.containsKey(roomIds.get(i)),
+                            booked.getOrDefault(roomIds.get(i), List.of()), requests.get(i)));
+                }
+                if (result.stream().anyMatch(BookingOutcome::isRejection)) {
+                    status.setRollbackOnly();
+                    return result;
+                }
+                List<OutboxEvent> events = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    rooms.get(roomIds.get(i)).addBooking(requests.get(i));
+                }
+                bookingRepository.saveAll(requests);
+                for (int i = 0; i < requests.size(); i++) {
+                    BookedRoom saved = requests.get(i);
+                    events.add(new OutboxEvent(OutboxEvent.BOOKING_CONFIRMED, saved.getBookingId(),
+                            confirmationPayload(roomIds.get(i), saved), LocalDateTime.now()));
+                }
+                outboxEventRepository.saveAll(events);
+                return Collections.nCopies(requests.size(), BookingOutcome.BOOKED);
+            });
+            if (outcomes.stream().allMatch(outcome -> outcome == BookingOutcome.BOOKED)) {
+                for (int i = 0; i < requests.size(); i++) {
+                    BookedRoom booking = requests.get(i);
+                    availabilityIndex.addBooking(booking.getBookingId(), roomIds.get(i),
+                            booking.getCheckInDate(), booking.getCheckOutDate());
+                }
+            }
+            return outcomes;
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private Map<Long, List<BookingInterval>> bookedIntervals(Set<Long> roomIds, List<BookedRoom> requests) {
+        if (roomIds.isEmpty()) {
+            return Map.of();
+        }
+        LocalDate from = requests.stream().map(BookedRoom::getCheckInDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = requests.stream().map(BookedRoom::getCheckOutDate).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<BookingInterval>> byRoom = new HashMap<>();
+        for (BookingInterval interval : bookingRepository.findBookingIntervals(roomIds, from, to)) {
+            byRoom.computeIfAbsent(interval.getRoomId(), id -> new ArrayList<>()).add(interval);
+        }
+        return byRoom;
+    }
+
+    private static BookingOutcome availability(boolean roomExists, List<BookingInterval> booked, BookedRoom request) {
+        if (!roomExists) {
+            return BookingOutcome.ROOM_NOT_FOUND;
+        }
+        for (BookingInterval interval : booked) {
+            if (AvailabilityRule.overlaps(request.getCheckInDate(), request.getCheckOutDate(),
+                    interval.getCheckInDate(), interval.getCheckOutDate())) {
+                return BookingOutcome.UNAVAILABLE;
+            }
+        }
+        return BookingOutcome.AVAILABLE;
+    }
+
+    private String confirmationPayload(Long roomId, BookedRoom booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getBookingId());
+        payload.put("roomId", roomId);
+        payload.put("confirmationCode", booking.getBookingConfirmationCode());
+        payload.put("guestFullName", booking.getGuestFullName());
+        payload.put("guestEmail", booking.getGuestEmail());
+        payload.put("checkInDate", booking.getCheckInDate());
+        payload.put("checkOutDate", booking.getCheckOutDate());
+        payload.put("totalNumOfGuest", booking.getTotalNumOfGuest());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking " + booking.getBookingId(), e);
+        }
+    }
+
+    private Lock lockFor(Long roomId) {
+        return stripes[stripeOf(roomId)];
+    }
+
+    private List<Lock> locksFor(Collection<Long> roomIds) {
+        return roomIds.stream()
+                .map(this::stripeOf)
+                .distinct()
+                .sorted()
+                .map(stripe -> stripes[stripe])
+                .toList();
+    }
+
+    private int stripeOf(Long roomId) {
+        int hash = roomId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -6,6 +6,7 @@ import com.dailycodework.RoomRental.model.Role;
 import com.dailycodework.RoomRental.model.User;
 import com.dailycodework.RoomRental.repository.RoleRepository;
 import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.security.jwt.TokenPrincipalResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ import java.util.Optional;
 public class RoleService implements IRoleService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final TokenPrincipalResolver principalResolver;
 
     @Override
     public List<Role> getRoles() {
@@ -54,6 +56,7 @@ public class RoleService implements IRoleService {
         if (role.isPresent() && role.get().getUsers().contains(user.get())){
             role.get().removeUserFromRole(user.get());
             roleRepository.save(role.get());
+            principalResolver.evict(user.get().getEmail());
             return user.get();
         }
         throw new UsernameNotFoundException("User not found");
@@ -70,6 +73,7 @@ public class RoleService implements IRoleService {
         if (role.isPresent()){
             role.get().assignRoleToUser(user.get());
             roleRepository.save(role.get());
+            principalResolver.evict(user.get().getEmail());
         }
         return user.get();
     }
@@ -77,7 +81,11 @@ public class RoleService implements IRoleService {
     @Override
     public Role removeAllUsersFromRole(Long roleId) {
         Optional<Role> role = roleRepository.findById(roleId);
+        List<String> emails = role.map(theRole -> theRole.getUsers().stream().map(User::getEmail).toList())
+                .orElse(List.of());
         role.ifPresent(Role::removeAllUsersFromRole);
-        return roleRepository.save(role.get());
+        Role savedRole = roleRepository.save(role.get());
+        emails.forEach(principalResolver::evict);
+        return savedRole;
     }
 }
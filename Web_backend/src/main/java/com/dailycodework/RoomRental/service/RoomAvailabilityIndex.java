@@ -0,0 +1,168 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
+import com.dailycodework.RoomRental.repository.BookingInterval;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.repository.RoomTypeView;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * In-memory view of every room's booked date ranges, used to answer availability
+ * searches without the NOT IN subquery. The index is local to this node; while it
+ * is cold (or disabled) callers should fall back to the database query. It only learns
+ * of rooms and bookings written through this JVM, so it is off unless
+ * {@code rooms.availability-index.enabled} is set, and its candidates are re-checked
+ * against the database before they are returned.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, RoomSlot> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Long> bookingRooms = new ConcurrentHashMap<>();
+    private volatile boolean warm = false;
+
+    @Value("${rooms.availability-index.enabled:false}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            logger.info("Room availability index is disabled, searches will use the database");
+            return;
+        }
+        long started = System.currentTimeMillis();
+        for (RoomTypeView room : roomRepository.findAllRoomTypeViews()) {
+            addRoom(room.getId(), room.getRoomType());
+        }
+        List<BookingInterval> bookings = bookingRepository.findAllBookingIntervals();
+        for (BookingInterval booking : bookings) {
+            addBooking(booking.getBookingId(), booking.getRoomId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+        warm = true;
+        logger.info("Room availability index loaded {} rooms and {} bookings in {} ms",
+                rooms.size(), bookings.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public void addRoom(Long roomId, String roomType) {
+        if (roomId == null) {
+            return;
+        }
+        rooms.computeIfAbsent(roomId, id -> new RoomSlot()).roomType = roomType;
+    }
+
+    public void removeRoom(Long roomId) {
+        RoomSlot slot = rooms.remove(roomId);
+        if (slot != null) {
+            slot.bookingIds().forEach(bookingRooms::remove);
+        }
+    }
+
+    public void addBooking(Long bookingId, Long roomId, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (bookingId == null || roomId == null || checkInDate == null || checkOutDate == null) {
+            return;
+        }
+        bookingRooms.put(bookingId, roomId);
+        rooms.computeIfAbsent(roomId, id -> new RoomSlot()).add(bookingId, checkInDate, checkOutDate);
+    }
+
+    public void removeBooking(Long bookingId) {
+        Long roomId = bookingId != null ? bookingRooms.remove(bookingId) : null;
+        if (roomId == null) {
+            return;
+        }
+        RoomSlot slot = rooms.get(roomId);
+        if (slot != null) {
+            slot.remove(bookingId);
+        }
+    }
+
+    public List<Long> findAvailableRoomIds(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
+        List<Long> availableRoomIds = new ArrayList<>();
+        if (!AvailabilityRule.isValidStay(checkInDate, checkOutDate)) {
+            return availableRoomIds;
+        }
+        rooms.forEach((roomId, slot) -> {
+            if (StringUtils.containsIgnoreCase(slot.roomType, roomType)
+                    && slot.isFree(checkInDate, checkOutDate)) {
+                availableRoomIds.add(roomId);
+            }
+        });
+        return availableRoomIds;
+    }
+
+    private static final class RoomSlot {
+        private volatile String roomType;
+        private final TreeMap<LocalDate, Map<Long, LocalDate>> checkOutsByCheckIn = new TreeMap<>();
+        private final Map<Long, LocalDate> checkInsByBooking = new HashMap<>();
+        private long longestStayDays = 0;
+
+        synchronized void add(Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+            remove(bookingId);
+            checkOutsByCheckIn.computeIfAbsent(checkInDate, date -> new HashMap<>()).put(bookingId, checkOutDate);
+            checkInsByBooking.put(bookingId, checkInDate);
+            longestStayDays = Math.max(longestStayDays, ChronoUnit.DAYS.between(checkInDate, checkOutDate));
+        }
+
+        synchronized void remove(Long bookingId) {
+            LocalDate checkInDate = checkInsByBooking.remove(bookingId);
+            if (checkInDate == null) {
+                return;
+            }
+            Map<Long, LocalDate> sameDay = checkOutsByCheckIn.get(checkInDate);
+            sameDay.remove(bookingId);
+            if (sameDay.isEmpty()) {
+                checkOutsByCheckIn.remove(checkInDate);
+            }
+        }
+
+        synchronized List<Long> bookingIds() {
+            return new ArrayList<>(checkInsByBooking.keySet());
+        }
+
+        // A stored stay can only reach checkInDate if it started at most longestStayDays earlier,
+        // so only that window of the sorted map has to be inspected.
+        synchronized boolean isFree(LocalDate checkInDate, LocalDate checkOutDate) {
+            LocalDate windowStart = checkInDate.minusDays(longestStayDays);
+            if (!windowStart.isBefore(checkOutDate)) {
+                return true;
+            }
+            for (Map.Entry<LocalDate, Map<Long, LocalDate>> sameDay : checkOutsByCheckIn
+                    .subMap(windowStart, true, checkOutDate, false).entrySet()) {
+                for (LocalDate existingCheckOut : sameDay.getValue().values()) {
+                    if (AvailabilityRule.overlaps(checkInDate, checkOutDate, sameDay.getKey(), existingCheckOut)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingExportRow;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomExportRow;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.response.ImportLineError;
+import com.dailycodework.RoomRental.response.ImportReport;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+
+/**
+ * Streams rooms in from CSV or NDJSON uploads and rooms and bookings out to either format.
+ * <p>
+ * Imports read one line at a time and commit every {@code batchSize} valid rows in their own
+ * transaction; a bad line is reported and skipped, and a batch the database refuses is reported
+ * line by line without stopping the rest of the upload. Exports read unmanaged projections from a
+ * database cursor inside a read-only transaction and write each row straight to the response.
+ */
+@Service
+public class RoomBulkService implements IRoomBulkService {
+    static final String ROOM_TYPE = "roomType";
+    static final String ROOM_PRICE = "roomPrice";
+    private static final int MAX_ROOM_TYPE_LENGTH = 255;
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final CatalogueVersion catalogueVersion;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int defaultBatchSize;
+
+    public RoomBulkService(RoomRepository roomRepository,
+                           BookingRepository bookingRepository,
+                           RoomAvailabilityIndex availabilityIndex,
+                           CatalogueVersion catalogueVersion,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${rooms.import.batch-size:500}") int defaultBatchSize) {
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.catalogueVersion = catalogueVersion;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.defaultBatchSize = defaultBatchSize;
+    }
+
+    @Override
+    public ImportReport importRooms(Reader upload, TransferFormat format, Integer batchSize,
+                                    RoomImportListener listener) throws IOException {
+        int size = Math.max(1, Math.min(MAX_BATCH_SIZE, batchSize == null ? defaultBatchSize : batchSize));
+        BufferedReader reader = upload instanceof BufferedReader buffered ? buffered : new BufferedReader(upload);
+        ImportReport report = new ImportReport();
+        List<Room> pending = new ArrayList<>(size);
+        List<Long> pendingLines = new ArrayList<>(size);
+        int[] columns = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = report.getLinesRead() + 1;
+            report.setLinesRead(lineNumber);
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == TransferFormat.CSV && columns == null) {
+                columns = csvColumns(line);
+                if (columns == null) {
+                    reject(report, listener, lineNumber, "header must name the " + ROOM_TYPE + " and " + ROOM_PRICE + " columns");
+                    break;
+                }
+                continue;
+            }
+            Room room;
+            try {
+                room = format == TransferFormat.CSV ? csvRoom(line, columns) : ndjsonRoom(line);
+            } catch (IllegalArgumentException e) {
+                reject(report, listener, lineNumber, e.getMessage());
+                continue;
+            }
+            pending.add(room);
+            pendingLines.add(lineNumber);
+            if (pending.size() == size) {
+                saveBatch(pending, pendingLines, report, listener);
+            }
+        }
+        if (!pending.isEmpty()) {
+            saveBatch(pending, pendingLines, report, listener);
+        }
+        report.setDone(true);
+        listener.progress(report);
+        return report;
+    }
+
+    private void saveBatch(List<Room> rooms, List<Long> lines, ImportReport report, RoomImportListener listener) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> roomRepository.saveAll(rooms));
+            for (Room room : rooms) {
+                availabilityIndex.addRoom(room.getId(), room.getRoomType());
+            }
+            catalogueVersion.changed();
+            report.setImported(report.getImported() + rooms.size());
+        } catch (DataAccessException e) {
+            String message = "batch not saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Long line : lines) {
+                reject(report, listener, line, message);
+            }
+        }
+        rooms.clear();
+        lines.clear();
+        listener.progress(new ImportReport(report.getLinesRead(), report.getImported(), report.getRejected(), false));
+    }
+
+    private static void reject(ImportReport report, RoomImportListener listener, long line, String message) {
+        report.setRejected(report.getRejected() + 1);
+        listener.lineRejected(new ImportLineError(line, message));
+    }
+
+    private static int[] csvColumns(String header) {
+        List<String> names = CsvRow.parse(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        int[] columns = {-1, -1};
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            if (ROOM_TYPE.equalsIgnoreCase(name)) {
+                columns[0] = i;
+            } else if (ROOM_PRICE.equalsIgnoreCase(name)) {
+                columns[1] = i;
+            }
+        }
+        return columns[0] < 0 || columns[1] < 0 ? null : columns;
+    }
+
+    private static Room csvRoom(String line, int[] columns) {
+        List<String> fields = CsvRow.parse(line);
+        if (fields.size() <= Math.max(columns[0], columns[1])) {
+            throw new IllegalArgumentException("expected at least " + (Math.max(columns[0], columns[1]) + 1) + " fields");
+        }
+        return room(fields.get(columns[0]), fields.get(columns[1]));
+    }
+
+    private Room ndjsonRoom(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        JsonNode roomType = node.get(ROOM_TYPE);
+        JsonNode roomPrice = node.get(ROOM_PRICE);
+        return room(roomType == null || roomType.isNull() ? null : roomType.asText(),
+                roomPrice == null || roomPrice.isNull() ? null : roomPrice.asText());
+    }
+
+    private static Room room(String roomType, String roomPrice) {
+        if (roomType == null || roomType.isBlank()) {
+            throw new IllegalArgumentException(ROOM_TYPE + " is required");
+        }
+        if (roomType.trim().length() > MAX_ROOM_TYPE_LENGTH) {
+            throw new IllegalArgumentException(ROOM_TYPE + " is longer than " + MAX_ROOM_TYPE_LENGTH + " characters");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(roomPrice == null ? "" : roomPrice.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(ROOM_PRICE + " must be a number");
+        }
+        if (price.signum() <= 0 || price.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException(ROOM_PRICE + " must be positive with at most two decimals");
+        }
+        Room room = new Room();
+        room.setRoomType(roomType.trim());
+        room.setRoomPrice(price);
+        return room;
+    }
+
+    @Override
+    public void exportRooms(TransferFormat format, OutputStream out) throws IOException {
+        export(format, out, roomRepository::streamAllForExport,
+                new String[]{"id", ROOM_TYPE, ROOM_PRICE, "booked"},
+                room -> new Object[]{room.getId(), room.getRoomType(), room.getRoomPrice(), room.getBooked()});
+    }
+
+    @Override
+    public void exportBookings(TransferFormat format, OutputStream out) throws IOException {
+        export(format, out, bookingRepository::streamAllForExport,
+                new String[]{"bookingId", "roomId", "checkInDate", "checkOutDate", "guestFullName",
+                        "guestEmail", "numOfAdults", "numOfChildren", "bookingConfirmationCode"},
+                booking -> new Object[]{booking.getBookingId(), booking.getRoomId(), booking.getCheckInDate(),
+                        booking.getCheckOutDate(), booking.getGuestFullName(), booking.getGuestEmail(),
+                        booking.getNumOfAdults(), booking.getNumOfChildren(), booking.getBookingConfirmationCode()});
+    }
+
+    private <T> void export(TransferFormat format, OutputStream out, Supplier<Stream<T>> query,
+                            String[] columns, Function<T, Object[]> values) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        IOException[] failure = new IOException[1];
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (Stream<T> rows = query.get()) {
+                if (format == TransferFormat.CSV) {
+                    writeCsv(writer, columns, rows.iterator(), values);
+                } else {
+                    writeNdjson(writer, columns, rows.iterator(), values);
+                }
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        writer.flush();
+    }
+
+    private static <T> void writeCsv(Writer writer, String[] columns, Iterator<T> rows,
+                                     Function<T, Object[]> values) throws IOException {
+        writer.write(CsvRow.format((Object[]) columns));
+        writer.write('\n');
+        while (rows.hasNext()) {
+            writer.write(CsvRow.format(values.apply(rows.next())));
+            writer.write('\n');
+        }
+    }
+
+    private <T> void writeNdjson(Writer writer, String[] columns, Iterator<T> rows,
+                                 Function<T, Object[]> values) throws IOException {
+        SequenceWriter sequence = objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        Map<String, Object> row = new LinkedHashMap<>();
+        while (rows.hasNext()) {
+            Object[] rowValues = values.apply(rows.next());
+            for (int i = 0; i < columns.length; i++) {
+                row.put(columns[i], rowValues[i]);
+            }
+            sequence.write(row);
+        }
+        sequence.flush();
+        if (row.size() > 0) {
+            writer.write('\n');
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.dailycodework.RoomRental.service;
+
+import com.dailycodework.RoomRental.response.ImportLineError;
+import com.dailycodework.RoomRental.response.ImportReport;
+
+
+/**
+ * Receives the outcome of a room import as it runs, so it can be streamed back to the caller.
+ */
+public interface RoomImportListener {
+    void lineRejected(ImportLineError error);
+
+    void progress(ImportReport report);
+}
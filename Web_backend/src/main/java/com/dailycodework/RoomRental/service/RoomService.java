@@ -1,17 +1,30 @@
 package com.dailycodework.RoomRental.service;
 
+import com.dailycodework.RoomRental.config.CacheConfig;
 import com.dailycodework.RoomRental.exception.InternalServerException;
+import com.dailycodework.RoomRental.exception.PhotoRetrievalException;
 import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
+import com.dailycodework.RoomRental.model.BookedRoom;
 import com.dailycodework.RoomRental.model.Room;
 import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.response.RoomPhoto;
+import com.dailycodework.RoomRental.storage.PhotoHash;
+import com.dailycodework.RoomRental.storage.PhotoSize;
+import com.dailycodework.RoomRental.storage.PhotoStore;
+import com.dailycodework.RoomRental.storage.PhotoVariantService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.sql.rowset.serial.SerialBlob;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLConnection;
 import java.math.BigDecimal;
-import java.sql.Blob;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
@@ -22,20 +35,27 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RoomService implements IRoomService {
     private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final PhotoStore photoStore;
+    private final PhotoVariantService photoVariantService;
+    private final CatalogueVersion catalogueVersion;
+
     @Override
     public Room addNewRoom(MultipartFile file, String roomType, BigDecimal roomPrice) throws SQLException, IOException {
         Room room = new Room();
         room.setRoomType(roomType);
         room.setRoomPrice(roomPrice);
-//        if (!file.isEmpty()){
-//            byte[] photoBytes = file.getBytes();
-//            Blob photoBlob = new SerialBlob(photoBytes);
-//            room.setPhoto(photoBlob);
-//        }
-        return roomRepository.save(room);
+        if (file != null && !file.isEmpty()){
+            storePhoto(room, file.getBytes());
+        }
+        Room savedRoom = roomRepository.save(room);
+        availabilityIndex.addRoom(savedRoom.getId(), savedRoom.getRoomType());
+        catalogueVersion.changed();
+        return savedRoom;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROOM_TYPES, keyGenerator = CacheConfig.CATALOGUE_KEY, sync = true)
     public List<String> getAllRoomTypes() {
         return roomRepository.findDistinctRoomTypes();
     }
@@ -46,23 +66,70 @@ public class RoomService implements IRoomService {
     }
 
     @Override
-    public byte[] getRoomPhotoByRoomId(Long roomId) throws SQLException {
+    @Cacheable(cacheNames = CacheConfig.ROOM_LIST, keyGenerator = CacheConfig.CATALOGUE_KEY, sync = true)
+    public List<Room> getAllRoomsWithBookings() {
+        return roomRepository.findAllWithBookings().stream().map(room -> snapshot(room, true)).toList();
+    }
+
+    @Override
+    public Slice<Room> getRoomsPage(Long cursor, Pageable pageable) {
+        // Page over ids first: fetch-joining the bookings collection under a LIMIT would make
+        // Hibernate paginate in memory.
+        Slice<Long> ids = roomRepository.findIdsAfter(PageSettings.afterId(cursor), pageable);
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        List<Room> rooms = roomRepository.findAllWithBookingsByIdIn(ids.getContent());
+        return new SliceImpl<>(rooms, pageable, ids.hasNext());
+    }
+
+    @Override
+    public byte[] getRoomPhotoByRoomId(Long roomId) {
         Optional<Room> theRoom = roomRepository.findById(roomId);
         if(theRoom.isEmpty()){
             throw new ResourceNotFoundException("Sorry, Room not found!");
         }
-        Blob photoBlob = theRoom.get().getPhoto();
-        if(photoBlob != null){
-            return photoBlob.getBytes(1, (int) photoBlob.length());
+        if(theRoom.get().hasPhoto()){
+            try {
+                return photoStore.read(theRoom.get().getPhotoHash());
+            } catch (IOException e) {
+                throw new PhotoRetrievalException("Error retrieving photo");
+            }
         }
         return null;
     }
 
+    @Override
+    public RoomPhoto getRoomPhoto(Long roomId, PhotoSize size) throws IOException {
+        Room room = roomRepository.findById(roomId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sorry, Room not found!"));
+        if (!room.hasPhoto()) {
+            throw new ResourceNotFoundException("Sorry, this room has no photo!");
+        }
+        String hash = room.getPhotoHash();
+        if (size != PhotoSize.ORIGINAL) {
+            String variantKey = PhotoHash.keyOf(hash, size);
+            if (photoStore.exists(variantKey)) {
+                return new RoomPhoto(roomId, hash, variantKey, size, photoStore.size(variantKey), "image/jpeg");
+            }
+            photoVariantService.submit(hash, null);
+        }
+        return new RoomPhoto(roomId, hash, hash, PhotoSize.ORIGINAL, photoStore.size(hash),
+                room.getPhotoContentType());
+    }
+
+    @Override
+    public void writeRoomPhoto(RoomPhoto photo, OutputStream out) throws IOException {
+        photoStore.transferTo(photo.getKey(), out);
+    }
+
     @Override
     public void deleteRoom(Long roomId) {
         Optional<Room> theRoom = roomRepository.findById(roomId);
         if(theRoom.isPresent()){
             roomRepository.deleteById(roomId);
+            availabilityIndex.removeRoom(roomId);
+            catalogueVersion.changed();
         }
     }
 
@@ -72,22 +139,67 @@ public class RoomService implements IRoomService {
         if (roomType != null) room.setRoomType(roomType);
         if (roomPrice != null) room.setRoomPrice(roomPrice);
         if (photoBytes != null && photoBytes.length > 0) {
-            try {
-                room.setPhoto(new SerialBlob(photoBytes));
-            } catch (SQLException ex) {
-                throw new InternalServerException("Fail updating room");
-            }
+            storePhoto(room, photoBytes);
         }
-       return roomRepository.save(room);
+        Room savedRoom = roomRepository.save(room);
+        availabilityIndex.addRoom(savedRoom.getId(), savedRoom.getRoomType());
+        catalogueVersion.changed();
+        return savedRoom;
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROOMS, keyGenerator = CacheConfig.CATALOGUE_KEY, sync = true)
     public Optional<Room> getRoomById(Long roomId) {
-        return Optional.of(roomRepository.findById(roomId).get());
+        return Optional.of(snapshot(roomRepository.findById(roomId).get(), false));
     }
 
     @Override
     public List<Room> getAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, String roomType) {
-        return roomRepository.findAvailableRoomsByDatesAndType(checkInDate, checkOutDate, roomType);
+        if (!availabilityIndex.isWarm()) {
+            return roomRepository.findAvailableRoomsByDatesAndType(checkInDate, checkOutDate, roomType);
+        }
+        List<Long> availableRoomIds = availabilityIndex.findAvailableRoomIds(checkInDate, checkOutDate, roomType);
+        if (availableRoomIds.isEmpty()) {
+            return List.of();
+        }
+        // The index only sees bookings made on this node, so its candidates are confirmed in the database
+        return roomRepository.findAvailableRoomsByIdIn(availableRoomIds, checkInDate, checkOutDate);
+    }
+
+    // Cached rooms are plain copies: the loaded entities belong to the loading request's persistence
+    // context, and their lazy collections must not be shared with other threads and sessions.
+    // Rooms cached by id leave the bookings out; callers load those through the booking service.
+    private static Room snapshot(Room room, boolean withBookings) {
+        Room copy = new Room();
+        copy.setId(room.getId());
+        copy.setRoomType(room.getRoomType());
+        copy.setRoomPrice(room.getRoomPrice());
+        copy.setBooked(room.isBooked());
+        copy.setPhotoHash(room.getPhotoHash());
+        copy.setPhotoContentType(room.getPhotoContentType());
+        if (withBookings) {
+            for (BookedRoom booking : room.getBookings()) {
+                copy.getBookings().add(new BookedRoom(booking.getBookingId(), booking.getCheckInDate(),
+                        booking.getCheckOutDate(), booking.getGuestFullName(), booking.getGuestEmail(),
+                        booking.getNumOfAdults(), booking.getNumOfChildren(), booking.getTotalNumOfGuest(),
+                        booking.getBookingConfirmationCode(), copy));
+            }
+        }
+        return copy;
+    }
+
+    private void storePhoto(Room room, byte[] photoBytes) {
+        try {
+            room.setPhotoHash(photoStore.save(photoBytes));
+        } catch (IOException ex) {
+            throw new InternalServerException("Fail storing room photo");
+        }
+        photoVariantService.submit(room.getPhotoHash(), photoBytes);
+        String contentType = null;
+        try {
+            contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(photoBytes));
+        } catch (IOException ignored) {
+        }
+        room.setPhotoContentType(contentType != null ? contentType : "application/octet-stream");
     }
 }
@@ -0,0 +1,52 @@
+package com.dailycodework.RoomRental.service;
+
+import org.springframework.http.MediaType;
+
+
+/**
+ * Wire formats of the bulk room import and the room and booking exports.
+ */
+public enum TransferFormat {
+    CSV(new MediaType("text", "csv"), "csv"),
+    NDJSON(new MediaType("application", "x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TransferFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Maps a {@code ?format=} value; CSV when it is absent or names no known format.
+     */
+    public static TransferFormat from(String format) {
+        for (TransferFormat candidate : values()) {
+            if (format != null && candidate.extension.equalsIgnoreCase(format.trim())) {
+                return candidate;
+            }
+        }
+        return CSV;
+    }
+
+    /**
+     * Maps an upload's Content-Type; null when it is neither CSV nor NDJSON.
+     */
+    public static TransferFormat of(MediaType contentType) {
+        for (TransferFormat candidate : values()) {
+            if (contentType != null && candidate.mediaType.includes(contentType)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
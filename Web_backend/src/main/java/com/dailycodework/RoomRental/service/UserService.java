@@ -9,10 +9,14 @@ import com.dailycodework.RoomRental.model.Role;
 import com.dailycodework.RoomRental.model.User;
 import com.dailycodework.RoomRental.repository.RoleRepository;
 import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.security.jwt.TokenPrincipalResolver;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -23,14 +27,15 @@ public class UserService implements IUserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepository roleRepository;
+    private final TokenPrincipalResolver principalResolver;
 
+    @Transactional
     @Override
     public User registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())){
             throw new UserAlreadyExistsException(user.getEmail() + " already exists");
         }
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        System.out.println(user.getPassword());
         Optional<Role> optionalRole = roleRepository.findByName("ROLE_USER");
         Role userRole = optionalRole.orElseThrow(() -> new RuntimeException("ROLE_USER not found"));
 
@@ -43,12 +48,24 @@ public class UserService implements IUserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public Slice<User> getUsersPage(Long cursor, Pageable pageable) {
+        // Page over ids first, as RoomService.getRoomsPage does: fetching roles under a LIMIT
+        // would make Hibernate paginate in memory.
+        Slice<Long> ids = userRepository.findIdsAfter(PageSettings.afterId(cursor), pageable);
+        if (ids.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        return new SliceImpl<>(userRepository.findAllWithRolesByIdIn(ids.getContent()), pageable, ids.hasNext());
+    }
+
     @Transactional
     @Override
     public void deleteUser(String email) {
         User theUser = getUser(email);
         if (theUser != null){
             userRepository.deleteByEmail(email);
+            principalResolver.evict(email);
         }
 
     }
@@ -0,0 +1,88 @@
+package com.dailycodework.RoomRental.storage;
+
+import com.dailycodework.RoomRental.exception.PhotoRetrievalException;
+import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
+import com.dailycodework.RoomRental.model.StoredPhoto;
+import com.dailycodework.RoomRental.repository.StoredPhotoRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "photo.store.type", havingValue = "database")
+public class DatabasePhotoStore implements PhotoStore {
+    private final StoredPhotoRepository storedPhotoRepository;
+
+    @Override
+    public String save(byte[] content) throws IOException {
+        String hash = PhotoHash.of(content);
+        write(hash, content);
+        return hash;
+    }
+
+    @Override
+    public void saveVariant(String hash, PhotoSize size, byte[] content) throws IOException {
+        write(PhotoHash.keyOf(hash, size), content);
+    }
+
+    @Override
+    public void markUndecodable(String hash) throws IOException {
+        write(PhotoHash.undecodableKeyOf(hash), new byte[0]);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return key != null && storedPhotoRepository.existsById(key);
+    }
+
+    @Override
+    public long size(String key) {
+        return storedPhotoRepository.findSizeByHash(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Sorry, photo not found!"));
+    }
+
+    @Transactional
+    @Override
+    public byte[] read(String key) throws IOException {
+        try (InputStream in = contentOf(key)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Transactional
+    @Override
+    public void transferTo(String key, OutputStream out) throws IOException {
+        try (InputStream in = contentOf(key)) {
+            in.transferTo(out);
+        }
+    }
+
+    private void write(String key, byte[] content) throws IOException {
+        if (!storedPhotoRepository.existsById(key)) {
+            try {
+                storedPhotoRepository.save(new StoredPhoto(key, content.length, new SerialBlob(content)));
+            } catch (SQLException e) {
+                throw new IOException("Error storing photo " + key, e);
+            }
+        }
+    }
+
+    private InputStream contentOf(String key) {
+        StoredPhoto photo = storedPhotoRepository.findById(key)
+                .orElseThrow(() -> new ResourceNotFoundException("Sorry, photo not found!"));
+        try {
+            return photo.getContent().getBinaryStream();
+        } catch (SQLException e) {
+            throw new PhotoRetrievalException("Error retrieving photo");
+        }
+    }
+}
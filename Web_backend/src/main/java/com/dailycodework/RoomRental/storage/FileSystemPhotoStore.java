@@ -0,0 +1,90 @@
+package com.dailycodework.RoomRental.storage;
+
+import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+
+@Component
+@ConditionalOnProperty(name = "photo.store.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemPhotoStore implements PhotoStore {
+    private final Path root;
+
+    public FileSystemPhotoStore(@Value("${photo.store.directory:${user.home}/roomrental/photos}") String directory)
+            throws IOException {
+        this.root = Files.createDirectories(Paths.get(directory));
+    }
+
+    @Override
+    public String save(byte[] content) throws IOException {
+        String hash = PhotoHash.of(content);
+        write(hash, content);
+        return hash;
+    }
+
+    @Override
+    public void saveVariant(String hash, PhotoSize size, byte[] content) throws IOException {
+        write(PhotoHash.keyOf(hash, size), content);
+    }
+
+    @Override
+    public void markUndecodable(String hash) throws IOException {
+        write(PhotoHash.undecodableKeyOf(hash), new byte[0]);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return PhotoHash.isValid(key) && Files.exists(pathOf(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(existingPathOf(key));
+    }
+
+    @Override
+    public byte[] read(String key) throws IOException {
+        return Files.readAllBytes(existingPathOf(key));
+    }
+
+    @Override
+    public void transferTo(String key, OutputStream out) throws IOException {
+        // A plain buffered copy: the servlet output stream is not a file descriptor, so
+        // FileChannel.transferTo could not hand the bytes to the kernel here either.
+        Files.copy(existingPathOf(key), out);
+    }
+
+    private void write(String key, byte[] content) throws IOException {
+        Path target = pathOf(key);
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path existingPathOf(String key) {
+        if (!exists(key)) {
+            throw new ResourceNotFoundException("Sorry, photo not found!");
+        }
+        return pathOf(key);
+    }
+
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dailycodework.RoomRental.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+
+public final class PhotoHash {
+    private PhotoHash() {
+    }
+
+    public static String of(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static String keyOf(String hash, PhotoSize size) {
+        return size == PhotoSize.ORIGINAL ? hash : hash + "-" + size.suffix();
+    }
+
+    /** Empty marker stored once an original has been found not to decode, so it is not retried. */
+    public static String undecodableKeyOf(String hash) {
+        return hash + "-undecodable";
+    }
+
+    public static boolean isValid(String key) {
+        return key != null && key.matches("[0-9a-f]{64}(-(thumbnail|medium|undecodable))?");
+    }
+}
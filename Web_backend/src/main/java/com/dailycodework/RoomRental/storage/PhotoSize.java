@@ -0,0 +1,35 @@
+package com.dailycodework.RoomRental.storage;
+
+import java.util.Locale;
+
+
+public enum PhotoSize {
+    THUMBNAIL(320),
+    MEDIUM(1024),
+    ORIGINAL(0);
+
+    private final int maxWidth;
+
+    PhotoSize(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+
+    public String suffix() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static PhotoSize from(String size) {
+        if (size == null || size.isBlank()) {
+            return ORIGINAL;
+        }
+        try {
+            return valueOf(size.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ORIGINAL;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dailycodework.RoomRental.storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ * Content-addressed storage for room photos. Originals are keyed by the SHA-256 of their
+ * bytes, so saving identical uploads twice stores them once; resized variants are kept
+ * next to their original under {@link PhotoHash#keyOf(String, PhotoSize)}.
+ * <p>
+ * Nothing is ever deleted: a photo replaced by an update, or left behind by a deleted room, stays
+ * in the store with its variants. Removing it safely would need a reference check that cannot race
+ * with a new upload of the same bytes reusing the stored copy, so orphans accumulate and must be
+ * swept offline (for example, keys that no {@code room.photo_hash} references).
+ */
+public interface PhotoStore {
+    String save(byte[] content) throws IOException;
+
+    void saveVariant(String hash, PhotoSize size, byte[] content) throws IOException;
+
+    void markUndecodable(String hash) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    byte[] read(String key) throws IOException;
+
+    void transferTo(String key, OutputStream out) throws IOException;
+}
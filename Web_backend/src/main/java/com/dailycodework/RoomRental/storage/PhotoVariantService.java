@@ -0,0 +1,165 @@
+package com.dailycodework.RoomRental.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Generates the resized JPEG variants of an uploaded photo on a small bounded pool.
+ * When the pool is saturated the job is dropped: reads fall back to the original and
+ * request the variant again later. Originals that cannot be decoded, or whose declared
+ * dimensions exceed {@code photo.variants.max-pixels}, are marked in the store and never
+ * submitted again.
+ */
+@Component
+public class PhotoVariantService {
+    private static final Logger logger = LoggerFactory.getLogger(PhotoVariantService.class);
+    private static final PhotoSize[] VARIANTS = {PhotoSize.THUMBNAIL, PhotoSize.MEDIUM};
+
+    private final PhotoStore photoStore;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    @Value("${photo.variants.jpeg-quality:0.8}")
+    private float jpegQuality = 0.8f;
+
+    @Value("${photo.variants.max-pixels:40000000}")
+    private long maxPixels = 40_000_000L;
+
+    public PhotoVariantService(PhotoStore photoStore,
+                               @Value("${photo.variants.threads:2}") int threads,
+                               @Value("${photo.variants.queue-capacity:100}") int queueCapacity) {
+        this.photoStore = photoStore;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "photo-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void submit(String hash, byte[] original) {
+        if (photoStore.exists(PhotoHash.undecodableKeyOf(hash)) || !pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(hash, original != null ? original : photoStore.read(hash));
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Could not generate variants of photo {} : {}", hash, e.getMessage());
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(hash);
+            logger.warn("Photo variant queue is full, skipping photo {}", hash);
+        }
+    }
+
+    public void generateVariants(String hash, byte[] original) throws IOException {
+        BufferedImage image = decode(hash, original);
+        if (image == null) {
+            photoStore.markUndecodable(hash);
+            return;
+        }
+        for (PhotoSize size : VARIANTS) {
+            if (!photoStore.exists(PhotoHash.keyOf(hash, size))) {
+                int width = Math.min(image.getWidth(), size.getMaxWidth());
+                photoStore.saveVariant(hash, size, toJpeg(resize(image, width)));
+            }
+        }
+    }
+
+    // Reads the header first so a tiny file declaring huge dimensions is refused before any
+    // pixel buffer is allocated.
+    private BufferedImage decode(String hash, byte[] original) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                logger.debug("Photo {} is not in a format ImageIO can decode, serving the original only", hash);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    logger.warn("Photo {} declares {} pixels, above the limit of {}, serving the original only",
+                            hash, pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not decode photo {} : {}", hash, e.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] toJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
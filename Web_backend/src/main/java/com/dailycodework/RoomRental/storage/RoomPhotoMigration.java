@@ -0,0 +1,127 @@
+package com.dailycodework.RoomRental.storage;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Flyway V1.2: copies the photo blobs that databases created before the PhotoStore still keep
+ * in {@code room.photo} into the configured store and points each room at its hash. It runs
+ * while Flyway initialises, before any JPA bean exists, so it works on plain JDBC: the
+ * filesystem store is created directly and the database store is written with SQL.
+ */
+@Component
+public class RoomPhotoMigration implements JavaMigration {
+    private static final Logger logger = LoggerFactory.getLogger(RoomPhotoMigration.class);
+
+    private final String storeType;
+    private final String directory;
+
+    public RoomPhotoMigration(@Value("${photo.store.type:filesystem}") String storeType,
+                              @Value("${photo.store.directory:${user.home}/roomrental/photos}") String directory) {
+        this.storeType = storeType;
+        this.directory = directory;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.2");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move room photos to photo store";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        PhotoStore fileStore = "database".equals(storeType) ? null : new FileSystemPhotoStore(directory);
+        List<Long> roomIds = new ArrayList<>();
+        try (PreparedStatement select = connection.prepareStatement("select id from room where photo is not null");
+             ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                roomIds.add(rows.getLong(1));
+            }
+        }
+        // One blob in memory at a time
+        for (Long roomId : roomIds) {
+            byte[] photo = readPhoto(connection, roomId);
+            if (photo == null || photo.length == 0) {
+                continue;
+            }
+            String hash = fileStore != null ? fileStore.save(photo) : saveToDatabase(connection, photo);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update room set photo_hash = ?, photo_content_type = ? where id = ?")) {
+                update.setString(1, hash);
+                update.setString(2, contentTypeOf(photo));
+                update.setLong(3, roomId);
+                update.executeUpdate();
+            }
+        }
+        logger.info("Moved {} room photos to the {} photo store", roomIds.size(), fileStore != null ? "filesystem" : "database");
+    }
+
+    private byte[] readPhoto(Connection connection, Long roomId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("select photo from room where id = ?")) {
+            select.setLong(1, roomId);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getBytes(1) : null;
+            }
+        }
+    }
+
+    private String saveToDatabase(Connection connection, byte[] photo) throws SQLException {
+        String hash = PhotoHash.of(photo);
+        try (PreparedStatement exists = connection.prepareStatement("select 1 from stored_photo where hash = ?")) {
+            exists.setString(1, hash);
+            try (ResultSet rows = exists.executeQuery()) {
+                if (rows.next()) {
+                    return hash;
+                }
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into stored_photo (hash, size, content) values (?, ?, ?)")) {
+            insert.setString(1, hash);
+            insert.setLong(2, photo.length);
+            insert.setBytes(3, photo);
+            insert.executeUpdate();
+        }
+        return hash;
+    }
+
+    private String contentTypeOf(byte[] photo) {
+        String contentType = null;
+        try {
+            contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(photo));
+        } catch (IOException ignored) {
+        }
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+}
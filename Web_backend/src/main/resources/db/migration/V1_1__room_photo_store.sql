@@ -0,0 +1,12 @@
+-- Room photos move out of the room row into the content-addressed PhotoStore.
+-- V1.2 (RoomPhotoMigration) copies the existing blobs across; V1.3 drops the old column.
+alter table room add column photo_hash varchar(64);
+alter table room add column photo_content_type varchar(255);
+
+-- Backing table of the database PhotoStore (photo.store.type=database)
+create table stored_photo (
+    hash varchar(80) not null,
+    size bigint not null,
+    content mediumblob,
+    primary key (hash)
+) engine=InnoDB;
@@ -0,0 +1,16 @@
+-- V2 makes confirmation codes and user emails unique. Rows that already share a value keep the
+-- lowest id's copy unchanged; the others get their id mixed in so the indexes can be built.
+-- The grouped derived tables are materialised, which lets MySQL update the table it reads.
+update booked_room
+set confirmation_code = concat(confirmation_code, '-', booking_id)
+where confirmation_code is not null
+  and booking_id not in (select keep_id from (
+        select min(booking_id) as keep_id from booked_room
+        where confirmation_code is not null group by confirmation_code) kept);
+
+update user
+set email = concat('duplicate-', id, '-', email)
+where email is not null
+  and id not in (select keep_id from (
+        select min(id) as keep_id from user
+        where email is not null group by email) kept);
@@ -0,0 +1,48 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version and only pick up later scripts.
+
+create table room (
+    id bigint not null auto_increment,
+    room_type varchar(255),
+    room_price decimal(38,2),
+    is_booked bit not null,
+    photo longblob,
+    primary key (id)
+) engine=InnoDB;
+
+create table booked_room (
+    booking_id bigint not null auto_increment,
+    check_in date,
+    check_out date,
+    guest_full_name varchar(255),
+    guest_email varchar(255),
+    adults integer,
+    children integer,
+    total_guest integer,
+    confirmation_code varchar(255),
+    room_id bigint,
+    primary key (booking_id),
+    constraint fk_booked_room_room foreign key (room_id) references room (id)
+) engine=InnoDB;
+
+create table role (
+    id bigint not null auto_increment,
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    id bigint not null auto_increment,
+    first_name varchar(255),
+    last_name varchar(255),
+    email varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    constraint fk_user_roles_user foreign key (user_id) references user (id),
+    constraint fk_user_roles_role foreign key (role_id) references role (id)
+) engine=InnoDB;
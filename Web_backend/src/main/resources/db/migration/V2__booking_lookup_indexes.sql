@@ -0,0 +1,8 @@
+-- Lookups by confirmation code and user email expect a single row.
+create unique index uk_booked_room_confirmation_code on booked_room (confirmation_code);
+create unique index uk_user_email on user (email);
+
+-- Covers findByRoomId and the per-room overlap check (room_id = ? and check_in < ? and check_out > ?).
+create index idx_booked_room_room_dates on booked_room (room_id, check_in, check_out);
+
+create index idx_booked_room_guest_email on booked_room (guest_email);
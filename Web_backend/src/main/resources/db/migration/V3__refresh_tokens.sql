@@ -0,0 +1,14 @@
+create table refresh_token (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    family_id varchar(36) not null,
+    user_id bigint not null,
+    created_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    revoked_at datetime(6),
+    primary key (id),
+    constraint fk_refresh_token_user foreign key (user_id) references user (id) on delete cascade
+) engine=InnoDB;
+
+create unique index uk_refresh_token_hash on refresh_token (token_hash);
+create index idx_refresh_token_family on refresh_token (family_id);
@@ -0,0 +1,14 @@
+create table outbox_event (
+    id bigint not null auto_increment,
+    event_type varchar(64) not null,
+    aggregate_id bigint not null,
+    payload varchar(4000) not null,
+    created_at datetime(6) not null,
+    available_at datetime(6) not null,
+    published_at datetime(6),
+    attempts integer not null,
+    last_error varchar(500),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_event_pending on outbox_event (published_at, available_at);
@@ -0,0 +1,9 @@
+-- Shared catalogue version behind the room ETags and cache keys; every node reads the same row
+create table catalogue_version (
+    id integer not null,
+    version bigint not null,
+    changed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into catalogue_version (id, version, changed_at) values (1, 0, current_timestamp(6));
@@ -0,0 +1,141 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.AvailabilityRule;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the same edge-case matrix against the in-memory rule, the EXISTS query used by
+ * bookings, the NOT EXISTS search query and the availability index. The existing stay is
+ * [10, 15) of the month.
+ */
+@SpringBootTest
+class AvailabilityRuleTest {
+
+    private static final LocalDate MONTH = LocalDate.of(2033, 3, 1);
+    private static final LocalDate EXISTING_CHECK_IN = MONTH.withDayOfMonth(10);
+    private static final LocalDate EXISTING_CHECK_OUT = MONTH.withDayOfMonth(15);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private IRoomService roomService;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        Room room = new Room();
+        room.setRoomType("Matrix");
+        room.setRoomPrice(BigDecimal.valueOf(120));
+        room = roomRepository.save(room);
+        roomId = room.getId();
+
+        BookedRoom booking = new BookedRoom();
+        booking.setCheckInDate(EXISTING_CHECK_IN);
+        booking.setCheckOutDate(EXISTING_CHECK_OUT);
+        booking.setBookingConfirmationCode("MATRIX" + roomId);
+        booking.setRoom(room);
+        booking = bookingRepository.save(booking);
+
+        availabilityIndex.addRoom(roomId, "Matrix");
+        availabilityIndex.addBooking(booking.getBookingId(), roomId, EXISTING_CHECK_IN, EXISTING_CHECK_OUT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityIndex.removeRoom(roomId);
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "[{0}, {1}) {2}")
+    @CsvSource({
+            "10, 15, same stay,                 true",
+            "11, 13, inside,                    true",
+            " 8, 17, containing,                true",
+            " 8, 11, overlapping the start,     true",
+            "14, 16, overlapping the end,       true",
+            "10, 11, same check-in,             true",
+            "12, 15, same check-out,            true",
+            "14, 15, last night,                true",
+            " 9, 10, first night before,        false",
+            " 7, 10, checking out on check-in,  false",
+            "15, 18, checking in on check-out,  false",
+            " 1,  5, before,                    false",
+            "20, 25, after,                     false",
+    })
+    void allImplementationsAgree(int checkInDay, int checkOutDay, String description, boolean overlaps) {
+        LocalDate checkIn = MONTH.withDayOfMonth(checkInDay);
+        LocalDate checkOut = MONTH.withDayOfMonth(checkOutDay);
+
+        assertEquals(overlaps, AvailabilityRule.overlaps(checkIn, checkOut, EXISTING_CHECK_IN, EXISTING_CHECK_OUT),
+                "rule");
+        assertEquals(overlaps, bookingRepository.existsOverlappingBooking(roomId, checkIn, checkOut),
+                "booking query");
+        assertEquals(overlaps, roomRepository.findAvailableRoomsByDatesAndType(checkIn, checkOut, "Matrix").isEmpty(),
+                "search query");
+        assertEquals(overlaps, roomRepository.findAvailableRoomsByIdIn(List.of(roomId), checkIn, checkOut).isEmpty(),
+                "index re-check query");
+        assertEquals(overlaps, !availabilityIndex.findAvailableRoomIds(checkIn, checkOut, "Matrix").contains(roomId),
+                "availability index");
+    }
+
+    @Test
+    void getAvailableRooms_ExcludesRoomsBookedOnAnotherNode() {
+        LocalDate checkIn = MONTH.withDayOfMonth(20);
+        LocalDate checkOut = MONTH.withDayOfMonth(22);
+        assertTrue(availabilityIndex.isWarm());
+        BookedRoom elsewhere = new BookedRoom();
+        elsewhere.setCheckInDate(checkIn);
+        elsewhere.setCheckOutDate(checkOut);
+        elsewhere.setBookingConfirmationCode("ELSEWHERE" + roomId);
+        elsewhere.setRoom(roomRepository.findById(roomId).orElseThrow());
+        // saved straight to the database, so this node's index never hears of it
+        bookingRepository.save(elsewhere);
+
+        assertTrue(availabilityIndex.findAvailableRoomIds(checkIn, checkOut, "Matrix").contains(roomId));
+        assertTrue(roomService.getAvailableRooms(checkIn, checkOut, "Matrix").isEmpty());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"10, 10", "12, 10"})
+    void isValidStay_RejectsEmptyAndReversedStays(int checkInDay, int checkOutDay) {
+        assertFalse(AvailabilityRule.isValidStay(MONTH.withDayOfMonth(checkInDay), MONTH.withDayOfMonth(checkOutDay)));
+        assertFalse(AvailabilityRule.isValidStay(null, MONTH));
+        assertTrue(AvailabilityRule.isValidStay(MONTH, MONTH.plusDays(1)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 5", "20, 25"})
+    void findAvailableRoomsByDatesAndType_IgnoresOtherRoomTypes(int checkInDay, int checkOutDay) {
+        List<Room> rooms = roomRepository.findAvailableRoomsByDatesAndType(
+                MONTH.withDayOfMonth(checkInDay), MONTH.withDayOfMonth(checkOutDay), "Penthouse");
+
+        assertTrue(rooms.isEmpty());
+    }
+}
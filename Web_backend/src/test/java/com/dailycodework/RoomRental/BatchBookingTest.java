@@ -0,0 +1,155 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.OutboxEventRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchBookingTest {
+
+    private static final int ROOMS = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("Group");
+            room.setRoomPrice(BigDecimal.valueOf(90));
+            roomIds.add(roomRepository.save(room).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void batch_BooksEveryRoomWithBatchedInserts() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JsonNode report = batch(items(roomIds, "2035-07-01", "2035-07-05"), status().isOk());
+
+        assertTrue(report.get("booked").asBoolean());
+        assertEquals(ROOMS, report.get("results").size());
+        for (JsonNode item : report.get("results")) {
+            assertEquals("BOOKED", item.get("outcome").asText());
+            assertEquals(10, item.get("bookingConfirmationCode").asText().length());
+        }
+        assertEquals(ROOMS, bookingRepository.count());
+        assertEquals(ROOMS, outboxEventRepository.count());
+        assertEquals(2L * ROOMS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROOMS,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void batch_IsAllOrNothingWhenOneRoomIsTaken() throws Exception {
+        batch(items(roomIds.subList(3, 4), "2035-07-03", "2035-07-04"), status().isOk());
+
+        JsonNode report = batch(items(roomIds.subList(0, 5), "2035-07-01", "2035-07-05"), status().isBadRequest());
+
+        assertFalse(report.get("booked").asBoolean());
+        List<String> outcomes = new ArrayList<>();
+        report.get("results").forEach(item -> outcomes.add(item.get("outcome").asText()));
+        assertEquals(List.of("AVAILABLE", "AVAILABLE", "AVAILABLE", "UNAVAILABLE", "AVAILABLE"), outcomes);
+        assertFalse(report.get("results").get(0).has("bookingConfirmationCode"));
+        assertEquals(1, bookingRepository.count());
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void batch_ReportsInvalidDatesOverlapsWithinTheBatchAndUnknownRooms() throws Exception {
+        String body = """
+                {"guestFullName":"Group Lead","guestEmail":"group@example.com","bookings":[
+                  {"roomId":%d,"checkInDate":"2035-08-01","checkOutDate":"2035-08-04","numOfAdults":2},
+                  {"roomId":%d,"checkInDate":"2035-08-03","checkOutDate":"2035-08-05","numOfAdults":2},
+                  {"roomId":%d,"checkInDate":"2035-08-05","checkOutDate":"2035-08-01","numOfAdults":2},
+                  {"roomId":%d,"checkInDate":"2035-08-01","checkOutDate":"2035-08-04","numOfAdults":2}]}"""
+                .formatted(roomIds.get(0), roomIds.get(0), roomIds.get(1), Long.MAX_VALUE);
+
+        JsonNode results = batch(body, status().isBadRequest()).get("results");
+
+        assertEquals("AVAILABLE", results.get(0).get("outcome").asText());
+        assertEquals("CONFLICTS_WITH_BATCH", results.get(1).get("outcome").asText());
+        assertEquals("INVALID_DATES", results.get(2).get("outcome").asText());
+        assertEquals(0, bookingRepository.count());
+
+        results = batch(items(List.of(roomIds.get(0), Long.MAX_VALUE), "2035-08-01", "2035-08-04"),
+                status().isBadRequest()).get("results");
+        assertEquals("ROOM_NOT_FOUND", results.get(1).get("outcome").asText());
+        assertEquals(0, bookingRepository.count());
+    }
+
+    @Test
+    void emptyBatch_IsRejected() throws Exception {
+        mockMvc.perform(post("/bookings/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"guestFullName\":\"Nobody\",\"bookings\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode batch(String body, ResultMatcher expectedStatus) throws Exception {
+        String response = mockMvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private static String items(List<Long> rooms, String checkIn, String checkOut) {
+        StringJoiner items = new StringJoiner(",", "{\"guestFullName\":\"Group Lead\",\"guestEmail\":\"group@example.com\",\"bookings\":[", "]}");
+        for (Long roomId : rooms) {
+            items.add("{\"roomId\":%d,\"checkInDate\":\"%s\",\"checkOutDate\":\"%s\",\"numOfAdults\":2}"
+                    .formatted(roomId, checkIn, checkOut));
+        }
+        return items.toString();
+    }
+}
@@ -5,8 +5,12 @@ import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
 import com.dailycodework.RoomRental.model.BookedRoom;
 import com.dailycodework.RoomRental.model.Room;
 import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.service.BookingOutcome;
 import com.dailycodework.RoomRental.service.BookingService;
-import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.service.BusinessMetrics;
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.dailycodework.RoomRental.service.ReservationEngine;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -28,7 +32,16 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private IRoomService roomService;
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private ReservationEngine reservationEngine;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @Mock
+    private CatalogueVersion catalogueVersion;
 
     @InjectMocks
     private BookingService bookingService;
@@ -104,10 +117,70 @@ class BookingServiceTest {
         bookingRequest.setCheckOutDate(LocalDate.now());
 
         assertThrows(InvalidBookingRequestException.class, () -> bookingService.saveBooking(roomId, bookingRequest));
-        verify(roomService, never()).getRoomById(roomId);
         verify(bookingRepository, never()).save(any(BookedRoom.class));
+        verify(reservationEngine, never()).reserve(any(), any());
+    }
+
+    @Test
+    void saveBooking_Success() {
+        Long roomId = 1L;
+        BookedRoom bookingRequest = new BookedRoom();
+        bookingRequest.setCheckInDate(LocalDate.now());
+        bookingRequest.setCheckOutDate(LocalDate.now().plusDays(2));
+        bookingRequest.setBookingConfirmationCode("1234567890");
+
+        when(reservationEngine.reserve(roomId, bookingRequest)).thenReturn(bookingRequest);
+
+        String result = bookingService.saveBooking(roomId, bookingRequest);
+
+        assertEquals("1234567890", result);
+        verify(reservationEngine, times(1)).reserve(roomId, bookingRequest);
     }
 
+    @Test
+    void saveBookings_ConflictWithinBatch_NeverReachesTheEngine() {
+        List<BookedRoom> requests = List.of(stay(1, 4), stay(3, 5), stay(5, 7));
+
+        List<BookingOutcome> outcomes = bookingService.saveBookings(List.of(1L, 1L, 1L), requests);
+
+        assertEquals(List.of(BookingOutcome.AVAILABLE, BookingOutcome.CONFLICTS_WITH_BATCH, BookingOutcome.AVAILABLE),
+                outcomes);
+        verify(reservationEngine, never()).reserveAll(any(), any());
+        verify(businessMetrics, times(1)).bookingRejected(BusinessMetrics.REJECTED_UNAVAILABLE);
+    }
+
+    @Test
+    void saveBookings_Success_ChangesCatalogueOnce() {
+        List<Long> roomIds = List.of(1L, 2L, 1L);
+        List<BookedRoom> requests = List.of(stay(1, 3), stay(1, 3), stay(3, 5));
+        when(reservationEngine.reserveAll(roomIds, requests)).thenReturn(List.of(
+                BookingOutcome.BOOKED, BookingOutcome.BOOKED, BookingOutcome.BOOKED));
+
+        bookingService.saveBookings(roomIds, requests);
+
+        verify(catalogueVersion, times(1)).changed();
+        verify(businessMetrics, times(3)).bookingCreated();
+    }
+
+    @Test
+    void saveBookings_TooLarge_InvalidBookingRequestException() {
+        List<Long> roomIds = new ArrayList<>();
+        List<BookedRoom> requests = new ArrayList<>();
+        for (long i = 0; i < 51; i++) {
+            roomIds.add(i);
+            requests.add(stay(1, 2));
+        }
+
+        assertThrows(InvalidBookingRequestException.class, () -> bookingService.saveBookings(roomIds, requests));
+        verify(reservationEngine, never()).reserveAll(any(), any());
+    }
+
+    private static BookedRoom stay(int checkInDay, int checkOutDay) {
+        BookedRoom booking = new BookedRoom();
+        booking.setCheckInDate(LocalDate.of(2035, 1, checkInDay));
+        booking.setCheckOutDate(LocalDate.of(2035, 1, checkOutDay));
+        return booking;
+    }
 
     @Test
     void findByBookingConfirmationCode_Success() {
@@ -0,0 +1,149 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.IRoomService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogueETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IRoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        roomId = roomService.addNewRoom(null, "ETag Suite", BigDecimal.valueOf(180)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void catalogueGets_ReturnWeakETagAndLastModified() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/rooms/all-rooms"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse();
+
+        assertEquals(1, response.getHeaders(HttpHeaders.ETAG).size());
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertTrue(eTag.startsWith("W/\""));
+        mockMvc.perform(get("/rooms/room/types")).andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/rooms/room/{roomId}", roomId)).andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void currentETag_Returns304WithoutLoadingTheCatalogue() throws Exception {
+        String eTag = currentETag();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/rooms/all-rooms").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/rooms/room/types").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/rooms/room/{roomId}", roomId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void booking_ChangesTheETag() throws Exception {
+        String eTag = currentETag();
+
+        mockMvc.perform(post("/bookings/room/{roomId}/booking", roomId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"checkInDate":"2034-02-01","checkOutDate":"2034-02-03","guestFullName":"ETag Guest",
+                                 "guestEmail":"etag@example.com","numOfAdults":1,"numOfChildren":0}"""))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rooms/all-rooms").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+        assertNotEquals(eTag, currentETag());
+    }
+
+    @Test
+    void roomUpdate_ChangesTheETagAndServesFreshData() throws Exception {
+        String eTag = currentETag();
+
+        roomService.updateRoom(roomId, "Renamed Suite", null, null);
+
+        String body = mockMvc.perform(get("/rooms/room/types").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Renamed Suite"));
+    }
+
+    @Test
+    void writeOnAnotherNode_ChangesTheETagAndBypassesCachedEntries() throws Exception {
+        String eTag = currentETag();
+        mockMvc.perform(get("/rooms/room/types")).andExpect(status().isOk());
+
+        // what another node's room update leaves behind: the row and the shared version, not this node's caches
+        jdbcTemplate.update("UPDATE room SET room_type = ? WHERE id = ?", "Elsewhere Suite", roomId);
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+
+        String body = mockMvc.perform(get("/rooms/room/types").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("Elsewhere Suite"));
+        assertNotEquals(eTag, currentETag());
+    }
+
+    private String currentETag() throws Exception {
+        return mockMvc.perform(get("/rooms/all-rooms")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,30 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.service.CsvRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRowTest {
+
+    @Test
+    void parse_HandlesQuotedCommasAndDoubledQuotes() {
+        assertEquals(List.of("Suite, sea view", "say \"hi\"", "", "120"),
+                CsvRow.parse("\"Suite, sea view\",\"say \"\"hi\"\"\",,120"));
+    }
+
+    @Test
+    void parse_RejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvRow.parse("\"Suite,120"));
+    }
+
+    @Test
+    void format_QuotesOnlyWhenNeededAndRoundTrips() {
+        String line = CsvRow.format(7L, "Suite, \"deluxe\"", null, "plain");
+
+        assertEquals("7,\"Suite, \"\"deluxe\"\"\",,plain", line);
+        assertEquals(List.of("7", "Suite, \"deluxe\"", "", "plain"), CsvRow.parse(line));
+    }
+}
@@ -0,0 +1,180 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.model.User;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "pagination.max-page-size=4")
+@AutoConfigureMockMvc
+class CursorPaginationTest {
+
+    private static final int ROOMS = 7;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("Double");
+            room.setRoomPrice(BigDecimal.valueOf(200 + i));
+            room = roomRepository.save(room);
+            roomIds.add(room.getId());
+
+            BookedRoom booking = new BookedRoom();
+            booking.setCheckInDate(LocalDate.of(2031, 3, 1));
+            booking.setCheckOutDate(LocalDate.of(2031, 3, 4));
+            booking.setBookingConfirmationCode("PG" + i);
+            booking.setRoom(room);
+            bookingRepository.save(booking);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void getRoomsPage_WalksAllRoomsInIdOrder() throws Exception {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JsonNode page = fetchPage(cursor, 3);
+            page.get("items").forEach(room -> {
+                seen.add(room.get("id").asLong());
+                assertEquals(1, room.get("bookings").size());
+            });
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(roomIds, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void getRoomsPage_UsesTwoStatementsPerPage() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        fetchPage(null, 3);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRoomsPage_ClampsRequestedSize() throws Exception {
+        JsonNode page = fetchPage(null, 1000);
+
+        assertEquals(4, page.get("size").asInt());
+        assertEquals(4, page.get("items").size());
+        assertEquals(roomIds.get(3), page.get("nextCursor").asLong());
+    }
+
+    @Test
+    void getUsersPage_ReturnsUsersWithoutPasswordsInTwoStatements() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setEmail("page" + i + "@example.com");
+            user.setPassword("hash" + i);
+            userIds.add(userRepository.save(user).getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        try {
+            statistics.clear();
+
+            JsonNode page = objectMapper.readTree(mockMvc.perform(get("/users/page").param("size", "2")
+                            .header(HttpHeaders.AUTHORIZATION, tokenFor("admin@example.com", "ROLE_ADMIN")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertEquals(userIds.get(0), page.get("items").get(0).get("id").asLong());
+            assertEquals(2, page.get("items").size());
+            assertFalse(page.get("items").get(0).has("password"));
+            assertEquals(userIds.get(1), page.get("nextCursor").asLong());
+        } finally {
+            userRepository.deleteAllById(userIds);
+        }
+    }
+
+    @Test
+    void adminListings_RejectNonAdmins() throws Exception {
+        mockMvc.perform(get("/bookings/all-bookings/page")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/users/page").header(HttpHeaders.AUTHORIZATION, tokenFor("guest@example.com", "ROLE_USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/bookings/all-bookings/page").header(HttpHeaders.AUTHORIZATION, tokenFor("guest@example.com", "ROLE_USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String tokenFor(String email, String role) {
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(1L, email, List.of(role));
+        return "Bearer " + jwtUtils.generateJwtTokenForUser(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private JsonNode fetchPage(String cursor, int size) throws Exception {
+        var request = get("/rooms/all-rooms/page").param("size", String.valueOf(size))
+                .param("view", "detail");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
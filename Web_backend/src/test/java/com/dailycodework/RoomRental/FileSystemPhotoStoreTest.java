@@ -0,0 +1,66 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.exception.ResourceNotFoundException;
+import com.dailycodework.RoomRental.storage.FileSystemPhotoStore;
+import com.dailycodework.RoomRental.storage.PhotoHash;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemPhotoStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemPhotoStore photoStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        photoStore = new FileSystemPhotoStore(directory.toString());
+    }
+
+    @Test
+    void save_IdenticalUploadsAreStoredOnce() throws IOException {
+        byte[] photo = "same photo".getBytes(StandardCharsets.UTF_8);
+
+        String first = photoStore.save(photo);
+        String second = photoStore.save(photo.clone());
+
+        assertEquals(PhotoHash.of(photo), first);
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void transferTo_CopiesTheStoredBytes() throws IOException {
+        byte[] photo = new byte[300_000];
+        for (int i = 0; i < photo.length; i++) {
+            photo[i] = (byte) i;
+        }
+        String hash = photoStore.save(photo);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        photoStore.transferTo(hash, out);
+
+        assertEquals(photo.length, photoStore.size(hash));
+        assertArrayEquals(photo, out.toByteArray());
+    }
+
+    @Test
+    void read_UnknownOrMalformedHashIsNotFound() {
+        assertFalse(photoStore.exists("../../etc/passwd"));
+        assertThrows(ResourceNotFoundException.class, () -> photoStore.read(PhotoHash.of(new byte[]{1})));
+        assertThrows(ResourceNotFoundException.class, () -> photoStore.read("../../etc/passwd"));
+    }
+}
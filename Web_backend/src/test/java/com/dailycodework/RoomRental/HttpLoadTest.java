@@ -0,0 +1,397 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Role;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.model.User;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RefreshTokenRepository;
+import com.dailycodework.RoomRental.repository.RoleRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test against the embedded server and H2. Excluded from the default build; run with
+ * {@code mvn -P loadtest test}. Sizes and the request mix are system properties, e.g.
+ * {@code -Dloadtest.rooms=1000 -Dloadtest.clients=32 -Dloadtest.duration-seconds=60}.
+ * <p>
+ * Each client thread picks an endpoint by weight, sends one request and records its latency.
+ * Results per endpoint are logged and written to {@code target/loadtest-report-platform.json};
+ * {@link VirtualThreadHttpLoadTest} repeats the same run with {@code app.virtual-threads.enabled=true}
+ * on Java 21+ and writes {@code target/loadtest-report-virtual.json}, so both modes are measured
+ * with one command.
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HttpLoadTest {
+    private static final Logger logger = LoggerFactory.getLogger(HttpLoadTest.class);
+
+    private static final String PASSWORD = "load-test-password";
+    private static final LocalDate SEASON_START = LocalDate.of(2035, 1, 1);
+    private static final int SEASON_DAYS = 365;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.rooms:200}")
+    private int rooms;
+    @Value("${loadtest.bookings:2000}")
+    private int bookings;
+    @Value("${loadtest.users:50}")
+    private int users;
+    @Value("${loadtest.clients:16}")
+    private int clients;
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+    @Value("${loadtest.duration-seconds:20}")
+    private int durationSeconds;
+    @Value("${loadtest.mix.available-rooms:70}")
+    private int availableRoomsWeight;
+    @Value("${loadtest.mix.booking:25}")
+    private int bookingWeight;
+    @Value("${loadtest.mix.login:5}")
+    private int loginWeight;
+    @Value("${loadtest.mix.rooms-page:0}")
+    private int roomsPageWeight;
+    @Value("${loadtest.max-error-rate:0.01}")
+    private double maxErrorRate;
+    @Value("${app.virtual-threads.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RoomAvailabilityIndex roomAvailabilityIndex;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        long start = System.nanoTime();
+        String[] roomTypes = {"Single", "Double", "Suite", "Family"};
+        List<Room> seededRooms = new ArrayList<>();
+        for (int i = 0; i < rooms; i++) {
+            Room room = new Room();
+            room.setRoomType(roomTypes[i % roomTypes.length]);
+            room.setRoomPrice(BigDecimal.valueOf(80 + i % 200));
+            room.setPhotoHash(String.format("%064x", i));
+            room.setPhotoContentType("image/jpeg");
+            seededRooms.add(room);
+        }
+        roomRepository.saveAll(seededRooms).forEach(room -> roomIds.add(room.getId()));
+
+        List<BookedRoom> seededBookings = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            Room room = seededRooms.get(i % rooms);
+            // Stays are laid out per room so the seed itself never overlaps.
+            LocalDate checkIn = SEASON_START.plusDays((long) (i / rooms) * 3 % SEASON_DAYS);
+            BookedRoom booking = new BookedRoom();
+            booking.setCheckInDate(checkIn);
+            booking.setCheckOutDate(checkIn.plusDays(2));
+            booking.setGuestFullName("Seed Guest " + i);
+            booking.setGuestEmail("seed" + i + "@example.com");
+            booking.setNumOfAdults(2);
+            booking.setBookingConfirmationCode(String.format("S%09d", i));
+            booking.setRoom(room);
+            seededBookings.add(booking);
+        }
+        bookingRepository.saveAll(seededBookings);
+
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        transactionTemplate.executeWithoutResult(status -> {
+            Role userRole = roleRepository.findByName("ROLE_USER")
+                    .orElseGet(() -> roleRepository.save(new Role("ROLE_USER")));
+            List<User> seededUsers = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                User user = new User();
+                user.setFirstName("Load");
+                user.setLastName("User" + i);
+                user.setEmail(userEmail(i));
+                user.setPassword(passwordHash);
+                user.getRoles().add(userRole);
+                seededUsers.add(user);
+            }
+            userRepository.saveAll(seededUsers);
+        });
+
+        roomAvailabilityIndex.load();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        logger.info("Seeded {} rooms, {} bookings and {} users in {} ms", rooms, bookings, users,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+        userRepository.deleteAll();
+        roomAvailabilityIndex.load();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<Scenario> scenarios = List.of(
+                new Scenario("GET /rooms/available-rooms", availableRoomsWeight, this::availableRooms),
+                new Scenario("POST /bookings/room/{id}/booking", bookingWeight, this::booking),
+                new Scenario("POST /auth/login", loginWeight, this::login),
+                new Scenario("GET /rooms/all-rooms/page", roomsPageWeight, this::roomsPage));
+
+        run(scenarios, warmupSeconds);
+        scenarios.forEach(Scenario::reset);
+        long elapsedNanos = run(scenarios, durationSeconds);
+
+        Map<String, Map<String, Object>> report = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            report.put(scenario.name, scenario.summary(elapsedNanos));
+        }
+        String threads = virtualThreads ? "virtual" : "platform";
+        logger.info("Load test ({} threads): {} clients for {} s on {} rooms / {} bookings / {} users{}", threads,
+                clients, durationSeconds, rooms, bookings, users, format(report));
+        Path reportFile = Path.of("target", "loadtest-report-" + threads + ".json");
+        Files.createDirectories(reportFile.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+
+        for (Scenario scenario : scenarios) {
+            if (scenario.weight > 0) {
+                assertTrue(scenario.count() > 0, scenario.name + " was never exercised");
+                assertTrue(scenario.errorRate() <= maxErrorRate,
+                        scenario.name + " error rate " + scenario.errorRate() + " above " + maxErrorRate);
+            }
+        }
+    }
+
+    private long run(List<Scenario> scenarios, int seconds) throws InterruptedException {
+        int totalWeight = scenarios.stream().mapToInt(scenario -> scenario.weight).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(clients);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            pool.submit(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        pick(scenarios, totalWeight).execute();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        return elapsed;
+    }
+
+    private Scenario pick(List<Scenario> scenarios, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        throw new IllegalStateException("Scenario weights must be positive");
+    }
+
+    private HttpRequest availableRooms() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = SEASON_START.plusDays(random.nextInt(SEASON_DAYS));
+        String[] roomTypes = {"", "Single", "Double", "Suite", "Family"};
+        return HttpRequest.newBuilder(uri("/rooms/available-rooms?checkInDate=" + checkIn
+                        + "&checkOutDate=" + checkIn.plusDays(1 + random.nextInt(6))
+                        + "&roomType=" + roomTypes[random.nextInt(roomTypes.length)]))
+                .GET().build();
+    }
+
+    private HttpRequest booking() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Bookings land after the seeded season; overlaps with other clients come back as 400.
+        LocalDate checkIn = SEASON_START.plusDays(SEASON_DAYS + random.nextInt(SEASON_DAYS));
+        Map<String, Object> body = Map.of(
+                "checkInDate", checkIn.toString(),
+                "checkOutDate", checkIn.plusDays(1 + random.nextInt(4)).toString(),
+                "guestFullName", "Load Guest",
+                "guestEmail", "guest" + random.nextInt(10_000) + "@example.com",
+                "numOfAdults", 2,
+                "numOfChildren", 0);
+        return json(uri("/bookings/room/" + roomIds.get(random.nextInt(roomIds.size())) + "/booking"), body);
+    }
+
+    private HttpRequest roomsPage() {
+        return HttpRequest.newBuilder(uri("/rooms/all-rooms/page?size=20")).GET().build();
+    }
+
+    private HttpRequest login() {
+        return json(uri("/auth/login"), Map.of(
+                "email", userEmail(ThreadLocalRandom.current().nextInt(users)),
+                "password", PASSWORD));
+    }
+
+    private HttpRequest json(URI uri, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String userEmail(int i) {
+        return "load" + i + "@example.com";
+    }
+
+    private static String format(Map<String, Map<String, Object>> report) {
+        StringBuilder table = new StringBuilder(String.format("%n%-34s %8s %9s %8s %8s %8s %8s %8s",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "4xx %", "error %"));
+        report.forEach((name, summary) -> table.append(String.format("%n%-34s %8d %9.1f %8.1f %8.1f %8.1f %8.2f %8.2f",
+                name, summary.get("requests"), summary.get("throughput"), summary.get("p50Ms"),
+                summary.get("p95Ms"), summary.get("p99Ms"), summary.get("rejectedPercent"),
+                summary.get("errorPercent"))));
+        return table.toString();
+    }
+
+    private interface RequestFactory {
+        HttpRequest create();
+    }
+
+    /**
+     * One endpoint in the mix. 4xx answers (a booking that lost a race for its dates) are counted
+     * as rejections; 5xx answers and transport failures are errors.
+     */
+    private final class Scenario {
+        private final String name;
+        private final int weight;
+        private final RequestFactory requests;
+        private final Map<Thread, List<Long>> latencies = new ConcurrentHashMap<>();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        Scenario(String name, int weight, RequestFactory requests) {
+            this.name = name;
+            this.weight = weight;
+            this.requests = requests;
+        }
+
+        void execute() {
+            HttpRequest request = requests.create();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    errors.incrementAndGet();
+                } else if (response.statusCode() >= 400) {
+                    rejected.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+            latencies.computeIfAbsent(Thread.currentThread(), thread -> new ArrayList<>())
+                    .add(System.nanoTime() - start);
+        }
+
+        void reset() {
+            latencies.clear();
+            rejected.set(0);
+            errors.set(0);
+        }
+
+        long count() {
+            return latencies.values().stream().mapToLong(List::size).sum();
+        }
+
+        double errorRate() {
+            long count = count();
+            return count == 0 ? 0 : (double) errors.get() / count;
+        }
+
+        Map<String, Object> summary(long elapsedNanos) {
+            long[] sorted = latencies.values().stream().flatMap(List::stream).mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long count = sorted.length;
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", count);
+            summary.put("throughput", count / (elapsedNanos / 1e9));
+            summary.put("p50Ms", percentile(sorted, 0.50));
+            summary.put("p95Ms", percentile(sorted, 0.95));
+            summary.put("p99Ms", percentile(sorted, 0.99));
+            summary.put("rejectedPercent", count == 0 ? 0.0 : 100.0 * rejected.get() / count);
+            summary.put("errorPercent", 100.0 * errorRate());
+            return summary;
+        }
+
+        private double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
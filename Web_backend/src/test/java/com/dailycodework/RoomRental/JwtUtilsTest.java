@@ -0,0 +1,83 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    private static final String OLD_SECRET = "36763979244226452948404D635166546A576D5A7134743777217A25432A462D";
+    private static final String NEW_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703273357638792F423F";
+
+    @Test
+    void generatedToken_VerifiesAndCarriesClaims() {
+        JwtUtils jwtUtils = new JwtUtils(NEW_SECRET, "k2", List.of(), 60_000);
+
+        String token = jwtUtils.generateJwtTokenForUser(authenticationFor(5L, "guest@example.com"));
+
+        var claims = jwtUtils.parseVerifiedClaims(token).orElseThrow();
+        assertEquals("guest@example.com", claims.getSubject());
+        assertEquals(List.of("ROLE_USER"), claims.get(JwtUtils.ROLES_CLAIM, List.class));
+        assertEquals("guest@example.com", jwtUtils.getUserNameFromToken(token));
+    }
+
+    @Test
+    void rotatedKey_StillVerifiesTokensSignedWithPreviousKey() {
+        JwtUtils before = new JwtUtils(OLD_SECRET, "k1", List.of(), 60_000);
+        JwtUtils after = new JwtUtils(NEW_SECRET, "k2", List.of("k1:" + OLD_SECRET), 60_000);
+        String oldToken = before.generateJwtTokenForUser(authenticationFor(5L, "guest@example.com"));
+
+        assertTrue(after.validateToken(oldToken));
+        assertFalse(before.validateToken(after.generateJwtTokenForUser(authenticationFor(5L, "guest@example.com"))));
+    }
+
+    @Test
+    void retiredKey_IsRejected() {
+        JwtUtils before = new JwtUtils(OLD_SECRET, "k1", List.of(), 60_000);
+        JwtUtils after = new JwtUtils(NEW_SECRET, "k2", List.of(), 60_000);
+
+        assertFalse(after.validateToken(before.generateJwtTokenForUser(authenticationFor(5L, "guest@example.com"))));
+    }
+
+    @Test
+    void tokenWithoutKeyId_IsCheckedAgainstCurrentKey() {
+        JwtUtils jwtUtils = new JwtUtils(OLD_SECRET, "k1", List.of(), 60_000);
+        String legacyToken = Jwts.builder()
+                .setSubject("legacy@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(OLD_SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertEquals("legacy@example.com", jwtUtils.getUserNameFromToken(legacyToken));
+    }
+
+    @Test
+    void unsignedToken_IsRejected() {
+        JwtUtils jwtUtils = new JwtUtils(OLD_SECRET, "k1", List.of(), 60_000);
+        String unsigned = Jwts.builder().setSubject("admin@example.com").compact();
+
+        assertFalse(jwtUtils.validateToken(unsigned));
+    }
+
+    @Test
+    void expiredToken_IsRejected() {
+        JwtUtils jwtUtils = new JwtUtils(OLD_SECRET, "k1", List.of(), -1_000);
+
+        assertFalse(jwtUtils.validateToken(jwtUtils.generateJwtTokenForUser(authenticationFor(5L, "guest@example.com"))));
+    }
+
+    private UsernamePasswordAuthenticationToken authenticationFor(Long id, String email) {
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(id, email, List.of("ROLE_USER"));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
@@ -0,0 +1,48 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.exception.PasswordHashingOverloadedException;
+import com.dailycodework.RoomRental.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LoginAdmissionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Test
+    void login_ReturnsServiceUnavailableWhenHashingQueueIsFull() throws Exception {
+        when(passwordHashingExecutor.submit(any()))
+                .thenThrow(new PasswordHashingOverloadedException("Too many sign-in requests, please retry shortly", 2));
+
+        MvcResult login = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"storm@example.com\",\"password\":\"secret\"}"))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+
+        mockMvc.perform(get("/rooms/room/types")).andExpect(status().isOk());
+    }
+}
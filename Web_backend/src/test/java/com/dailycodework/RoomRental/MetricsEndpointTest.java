@@ -0,0 +1,124 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    private static final String BOOKING = """
+            {"checkInDate":"2031-03-01","checkOutDate":"2031-03-04","guestFullName":"Metrics Guest",
+             "guestEmail":"metrics@example.com","numOfAdults":2,"numOfChildren":0}""";
+
+    @Value("${management.server.port}")
+    private int managementPort;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void prometheus_ExposesRequestRepositoryPoolJvmAndBusinessMetrics() throws Exception {
+        Room room = new Room();
+        room.setRoomType("Single");
+        room.setRoomPrice(BigDecimal.valueOf(120));
+        Long roomId = roomRepository.save(room).getId();
+
+        mockMvc.perform(post("/bookings/room/{roomId}/booking", roomId)
+                        .contentType(MediaType.APPLICATION_JSON).content(BOOKING))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/bookings/room/{roomId}/booking", roomId)
+                        .contentType(MediaType.APPLICATION_JSON).content(BOOKING))
+                .andExpect(status().isBadRequest());
+        MvcResult login = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"nobody@example.com\",\"password\":\"wrong-password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(login)).andExpect(status().isUnauthorized());
+
+        String scrape = mockMvc.perform(scrape())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(counted(scrape, "bookings_created_total"));
+        assertTrue(counted(scrape, "bookings_rejected_total{reason=\"unavailable\""));
+        assertTrue(counted(scrape, "auth_login_failures_total"));
+        assertTrue(scrape.contains("http_server_requests_seconds_count{"));
+        assertTrue(scrape.contains("uri=\"/bookings/room/{roomId}/booking\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+        assertTrue(scrape.contains("jvm_gc_"));
+    }
+
+    @Test
+    void prometheus_IsPublicOnTheManagementPortAndDoesNotQueryTheDatabase() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(scrape()).andExpect(status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void prometheus_RequiresAdminOnTheApplicationPort() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void otherActuatorEndpoints_StillRequireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder scrape() {
+        return get("/actuator/prometheus").with(request -> {
+            request.setLocalPort(managementPort);
+            return request;
+        });
+    }
+
+    private static boolean counted(String scrape, String series) {
+        return scrape.lines().anyMatch(line -> line.startsWith(series) && !line.endsWith(" 0.0"));
+    }
+}
@@ -0,0 +1,140 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.OutboxEvent;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.OutboxEventRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.LoggingOutboxEventHandler;
+import com.dailycodework.RoomRental.service.OutboxDispatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutboxDispatchTest {
+
+    private static final String BOOKING = """
+            {"checkInDate":"2033-05-01","checkOutDate":"2033-05-03","guestFullName":"Outbox Guest",
+             "guestEmail":"outbox@example.com","numOfAdults":2,"numOfChildren":1}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @SpyBean
+    private LoggingOutboxEventHandler handler;
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        Room room = new Room();
+        room.setRoomType("Suite");
+        room.setRoomPrice(BigDecimal.valueOf(300));
+        roomId = roomRepository.save(room).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void booking_WritesEventInSameTransactionAndDispatcherPublishesIt() throws Exception {
+        book().andExpect(status().isOk());
+
+        List<OutboxEvent> pending = outboxEventRepository.findAll();
+        assertEquals(1, pending.size());
+        OutboxEvent event = pending.get(0);
+        assertEquals(OutboxEvent.BOOKING_CONFIRMED, event.getEventType());
+        assertNull(event.getPublishedAt());
+        String confirmationCode = bookingRepository.findByRoomId(roomId).get(0).getBookingConfirmationCode();
+        assertTrue(event.getPayload().contains("\"confirmationCode\":\"" + confirmationCode + "\""));
+        assertTrue(event.getPayload().contains("\"checkInDate\":\"2033-05-01\""));
+        verify(handler, never()).handle(any());
+
+        assertEquals(1, outboxDispatcher.dispatchBatch());
+
+        verify(handler).handle(argThat(e -> e.getId().equals(event.getId())));
+        assertNotNull(outboxEventRepository.findById(event.getId()).orElseThrow().getPublishedAt());
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+    }
+
+    @Test
+    void rejectedBooking_WritesNoEvent() throws Exception {
+        book().andExpect(status().isOk());
+        book().andExpect(status().isBadRequest());
+
+        assertEquals(1, outboxEventRepository.count());
+    }
+
+    @Test
+    void failingHandler_LeavesEventPendingWithBackoff() throws Exception {
+        doThrow(new IllegalStateException("mail server down")).when(handler).handle(any());
+        book().andExpect(status().isOk());
+
+        outboxDispatcher.dispatchBatch();
+
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        assertNull(event.getPublishedAt());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getLastError().contains("mail server down"));
+        assertTrue(event.getAvailableAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, outboxDispatcher.dispatchBatch());
+        verify(handler, times(1)).handle(any());
+    }
+
+    @Test
+    void handlers_RunOutsideTheClaimTransactionWhileTheBatchIsLeased() throws Exception {
+        book().andExpect(status().isOk());
+        doAnswer(invocation -> {
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            assertEquals(0, outboxDispatcher.dispatchBatch(), "a leased event must not be claimed twice");
+            return invocation.callRealMethod();
+        }).when(handler).handle(any());
+
+        assertEquals(1, outboxDispatcher.dispatchBatch());
+
+        verify(handler, times(1)).handle(any());
+        assertNotNull(outboxEventRepository.findAll().get(0).getPublishedAt());
+    }
+
+    private ResultActions book() throws Exception {
+        return mockMvc.perform(post("/bookings/room/{roomId}/booking", roomId)
+                .contentType(MediaType.APPLICATION_JSON).content(BOOKING));
+    }
+}
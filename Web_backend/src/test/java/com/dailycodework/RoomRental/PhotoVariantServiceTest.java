@@ -0,0 +1,104 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.storage.FileSystemPhotoStore;
+import com.dailycodework.RoomRental.storage.PhotoHash;
+import com.dailycodework.RoomRental.storage.PhotoSize;
+import com.dailycodework.RoomRental.storage.PhotoVariantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhotoVariantServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemPhotoStore photoStore;
+    private PhotoVariantService photoVariantService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        photoStore = new FileSystemPhotoStore(directory.toString());
+        photoVariantService = new PhotoVariantService(photoStore, 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        photoVariantService.shutdown();
+    }
+
+    @Test
+    void generateVariants_ResizesToEachVariantWidth() throws IOException {
+        byte[] original = png(2000, 1000);
+        String hash = photoStore.save(original);
+
+        photoVariantService.generateVariants(hash, original);
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(
+                photoStore.read(PhotoHash.keyOf(hash, PhotoSize.THUMBNAIL))));
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(
+                photoStore.read(PhotoHash.keyOf(hash, PhotoSize.MEDIUM))));
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(160, thumbnail.getHeight());
+        assertEquals(1024, medium.getWidth());
+        assertTrue(photoStore.size(PhotoHash.keyOf(hash, PhotoSize.THUMBNAIL)) < original.length);
+    }
+
+    @Test
+    void generateVariants_NeverUpscalesSmallPhotos() throws IOException {
+        byte[] original = png(200, 100);
+        String hash = photoStore.save(original);
+
+        photoVariantService.generateVariants(hash, original);
+
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(
+                photoStore.read(PhotoHash.keyOf(hash, PhotoSize.MEDIUM))));
+        assertEquals(200, medium.getWidth());
+    }
+
+    @Test
+    void generateVariants_IgnoresUndecodableContent() throws IOException {
+        byte[] original = "not an image".getBytes();
+        String hash = photoStore.save(original);
+
+        photoVariantService.generateVariants(hash, original);
+
+        assertFalse(photoStore.exists(PhotoHash.keyOf(hash, PhotoSize.THUMBNAIL)));
+        assertTrue(photoStore.exists(PhotoHash.undecodableKeyOf(hash)));
+    }
+
+    @Test
+    void generateVariants_RefusesImagesAboveThePixelLimit() throws IOException {
+        ReflectionTestUtils.setField(photoVariantService, "maxPixels", 10_000L);
+        byte[] original = png(200, 100);
+        String hash = photoStore.save(original);
+
+        photoVariantService.generateVariants(hash, original);
+
+        assertFalse(photoStore.exists(PhotoHash.keyOf(hash, PhotoSize.THUMBNAIL)));
+        assertTrue(photoStore.exists(PhotoHash.undecodableKeyOf(hash)));
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, (x * 31 + y * 17) & 0xFFFFFF);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.config.RedactingSqlConverter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedactingSqlConverterTest {
+
+    @Test
+    void redact_DropsH2ParameterBlock() {
+        String message = "SlowQuery: 6 milliseconds. SQL: 'HikariProxyPreparedStatement@1902756228 wrapping prep46: "
+                + "select b1_0.booking_id from booked_room b1_0 where b1_0.room_id=? and b1_0.check_in<? "
+                + "{1: CAST(1 AS BIGINT), 2: DATE '2031-03-04'}'";
+
+        assertEquals("SlowQuery: 6 milliseconds. SQL: 'select b1_0.booking_id from booked_room b1_0 "
+                + "where b1_0.room_id=? and b1_0.check_in<?'", RedactingSqlConverter.redact(message));
+    }
+
+    @Test
+    void redact_ReplacesInlinedMySqlValues() {
+        String message = "SlowQuery: 240 milliseconds. SQL: 'HikariProxyPreparedStatement@77 wrapping "
+                + "com.mysql.cj.jdbc.ClientPreparedStatement: select u1_0.id from user u1_0 "
+                + "where u1_0.email='guest@example.com' and u1_0.id>42 limit 20'";
+
+        assertEquals("SlowQuery: 240 milliseconds. SQL: 'select u1_0.id from user u1_0 "
+                + "where u1_0.email=? and u1_0.id>? limit ?'", RedactingSqlConverter.redact(message));
+    }
+
+    @Test
+    void redact_HandlesEscapedQuotes() {
+        String message = "SlowQuery: 300 milliseconds. SQL: 'insert into booked_room (guest_full_name) values ('O''Brien')'";
+
+        assertEquals("SlowQuery: 300 milliseconds. SQL: 'insert into booked_room (guest_full_name) values (?)'",
+                RedactingSqlConverter.redact(message));
+    }
+}
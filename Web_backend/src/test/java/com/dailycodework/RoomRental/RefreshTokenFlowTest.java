@@ -0,0 +1,150 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.Role;
+import com.dailycodework.RoomRental.repository.RefreshTokenRepository;
+import com.dailycodework.RoomRental.repository.RoleRepository;
+import com.dailycodework.RoomRental.service.IUserService;
+import com.dailycodework.RoomRental.service.RefreshTokenService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RefreshTokenFlowTest {
+
+    private static final String EMAIL = "refresh@example.com";
+    private static final String PASSWORD = "secret-password";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        if (roleRepository.findByName("ROLE_USER").isEmpty()) {
+            roleRepository.save(new Role("ROLE_USER"));
+        }
+        MvcResult registration = mockMvc.perform(post("/auth/register-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Refresh\",\"lastName\":\"Tester\",\"email\":\"" + EMAIL
+                                + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(registration)).andExpect(status().isOk());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userService.deleteUser(EMAIL);
+    }
+
+    @Test
+    void refresh_IssuesNewTokensWithoutCheckingThePassword() throws Exception {
+        JsonNode login = login();
+        clearInvocations(passwordEncoder);
+
+        JsonNode refreshed = read(refresh(login.get("refreshToken").asText())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(EMAIL))
+                .andExpect(jsonPath("$.roles[0]").value("ROLE_USER")));
+
+        assertNotEquals(login.get("refreshToken").asText(), refreshed.get("refreshToken").asText());
+        assertFalse(refreshed.get("token").asText().isBlank());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    void refreshToken_IsStoredHashed() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        assertTrue(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(refreshToken)).isPresent());
+        assertTrue(refreshTokenRepository.findAll().stream()
+                .noneMatch(token -> token.getTokenHash().equals(refreshToken)));
+    }
+
+    @Test
+    void reusingRotatedToken_RevokesTheWholeFamily() throws Exception {
+        String first = login().get("refreshToken").asText();
+        String second = read(refresh(first).andExpect(status().isOk())).get("refreshToken").asText();
+
+        refresh(first).andExpect(status().isUnauthorized());
+
+        refresh(second).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_RevokesRefreshToken() throws Exception {
+        String refreshToken = login().get("refreshToken").asText();
+
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(refreshToken)))
+                .andExpect(status().isOk());
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void unknownToken_IsRejected() throws Exception {
+        refresh("not-a-real-token").andExpect(status().isUnauthorized());
+    }
+
+    private JsonNode login() throws Exception {
+        MvcResult login = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return read(mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/auth/refresh-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(refreshToken)));
+    }
+
+    private String body(String refreshToken) {
+        return "{\"refreshToken\":\"" + refreshToken + "\"}";
+    }
+
+    private JsonNode read(ResultActions result) throws Exception {
+        return objectMapper.readTree(result.andReturn().getResponse().getContentAsString());
+    }
+}
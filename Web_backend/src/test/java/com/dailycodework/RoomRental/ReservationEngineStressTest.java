@@ -0,0 +1,143 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.exception.InvalidBookingRequestException;
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.ReservationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ReservationEngineStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ROOMS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 50;
+    private static final LocalDate SEASON_START = LocalDate.of(2032, 6, 1);
+
+    @Autowired
+    private ReservationEngine reservationEngine;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void reserve_SameRoomAndDatesFromManyThreadsSucceedsOnce() throws Exception {
+        Long roomId = saveRoom();
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(() -> tryReserve(roomId, SEASON_START, SEASON_START.plusDays(3)));
+        }
+
+        long successes = runConcurrently(attempts).stream().filter(Boolean::booleanValue).count();
+
+        assertEquals(1, successes);
+        assertEquals(1, bookingRepository.findByRoomId(roomId).size());
+    }
+
+    @Test
+    void reserve_RandomContentionNeverProducesOverlaps() throws Exception {
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds.add(saveRoom());
+        }
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS * ATTEMPTS_PER_THREAD; i++) {
+            attempts.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LocalDate checkIn = SEASON_START.plusDays(random.nextInt(60));
+                return tryReserve(roomIds.get(random.nextInt(ROOMS)), checkIn, checkIn.plusDays(1 + random.nextInt(4)));
+            });
+        }
+
+        long successes = runConcurrently(attempts).stream().filter(Boolean::booleanValue).count();
+
+        Map<Long, List<BookedRoom>> bookingsByRoom = bookingRepository.findAll().stream()
+                .collect(Collectors.groupingBy(booking -> booking.getRoom().getId()));
+        assertEquals(successes, bookingsByRoom.values().stream().mapToLong(List::size).sum());
+        for (List<BookedRoom> bookings : bookingsByRoom.values()) {
+            for (int i = 0; i < bookings.size(); i++) {
+                for (int j = i + 1; j < bookings.size(); j++) {
+                    BookedRoom a = bookings.get(i);
+                    BookedRoom b = bookings.get(j);
+                    assertFalse(a.getCheckInDate().isBefore(b.getCheckOutDate())
+                                    && b.getCheckInDate().isBefore(a.getCheckOutDate()),
+                            "Overlapping bookings " + a.getBookingId() + " and " + b.getBookingId());
+                }
+            }
+        }
+    }
+
+    private boolean tryReserve(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        BookedRoom booking = new BookedRoom();
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setGuestFullName("Stress Guest");
+        booking.setGuestEmail("stress@example.com");
+        booking.setNumOfAdults(1);
+        try {
+            reservationEngine.reserve(roomId, booking);
+            return true;
+        } catch (InvalidBookingRequestException e) {
+            return false;
+        }
+    }
+
+    private List<Boolean> runConcurrently(List<Callable<Boolean>> attempts) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> attempt : attempts) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Long saveRoom() {
+        Room room = new Room();
+        room.setRoomType("Stress");
+        room.setRoomPrice(BigDecimal.valueOf(80));
+        return roomRepository.save(room).getId();
+    }
+}
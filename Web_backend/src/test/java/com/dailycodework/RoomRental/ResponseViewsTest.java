@@ -0,0 +1,115 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseViewsTest {
+
+    private static final int ROOMS = 60;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("View " + i);
+            room.setRoomPrice(BigDecimal.valueOf(100 + i));
+            roomId = roomRepository.save(room).getId();
+        }
+        BookedRoom booking = new BookedRoom();
+        booking.setCheckInDate(LocalDate.of(2034, 2, 1));
+        booking.setCheckOutDate(LocalDate.of(2034, 2, 3));
+        booking.setGuestFullName("View Guest");
+        booking.setGuestEmail("view@example.com");
+        booking.setNumOfAdults(1);
+        booking.setBookingConfirmationCode("VIEW000001");
+        booking.setRoom(roomRepository.findById(roomId).orElseThrow());
+        bookingRepository.save(booking);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void listing_DefaultsToSummaryWithoutBookings() throws Exception {
+        String body = get("/rooms/all-rooms", false).body();
+
+        assertTrue(body.contains("\"roomType\":\"View 0\""));
+        assertFalse(body.contains("bookings"));
+        assertFalse(body.contains("VIEW000001"));
+        // fields without a value are still sent as null, as the client expects
+        assertTrue(body.contains("\"photo\":null"));
+    }
+
+    @Test
+    void detailView_IncludesBookings() throws Exception {
+        assertTrue(get("/rooms/all-rooms?view=detail", false).body().contains("VIEW000001"));
+        assertTrue(get("/rooms/room/" + roomId, false).body().contains("VIEW000001"));
+        assertFalse(get("/rooms/room/" + roomId + "?view=summary", false).body().contains("bookings"));
+    }
+
+    @Test
+    void largeResponse_IsGzippedWhenAccepted() throws Exception {
+        Reply plain = get("/rooms/all-rooms", false);
+        Reply gzipped = get("/rooms/all-rooms", true);
+
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals(plain.body(), gzipped.body());
+    }
+
+    private Reply get(String path, boolean gzip) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        byte[] bytes = response.body();
+        if (response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent()) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new Reply(response.headers(), new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private record Reply(HttpHeaders headers, String body) {
+    }
+}
@@ -6,6 +6,7 @@ import com.dailycodework.RoomRental.model.Role;
 import com.dailycodework.RoomRental.model.User;
 import com.dailycodework.RoomRental.repository.RoleRepository;
 import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.security.jwt.TokenPrincipalResolver;
 import com.dailycodework.RoomRental.service.RoleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +30,9 @@ class RoleServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenPrincipalResolver principalResolver;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -86,6 +90,7 @@ class RoleServiceTest {
 
         User user = new User();
         user.setId(userId);
+        user.setEmail("demoted@example.com");
 
         Role role = new Role("ROLE_USER");
         role.setId(roleId);
@@ -101,6 +106,7 @@ class RoleServiceTest {
         assertEquals(userId, result.getId());
         assertFalse(role.getUsers().contains(user));
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(principalResolver, times(1)).evict("demoted@example.com");
     }
 
     @Test
@@ -124,6 +130,7 @@ class RoleServiceTest {
         assertEquals(userId, result.getId());
         assertTrue(role.getUsers().contains(user));
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(principalResolver, times(1)).evict(user.getEmail());
     }
 
     @Test
@@ -132,7 +139,9 @@ class RoleServiceTest {
 
         Role role = new Role("ROLE_USER");
         role.setId(roleId);
-        role.getUsers().add(new User());
+        User user = new User();
+        user.setEmail("member@example.com");
+        role.getUsers().add(user);
 
         when(roleRepository.findById(roleId)).thenReturn(Optional.of(role));
         when(roleRepository.save(any(Role.class))).thenReturn(role);
@@ -142,5 +151,6 @@ class RoleServiceTest {
         assertNotNull(result);
         assertTrue(result.getUsers().isEmpty());
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(principalResolver, times(1)).evict("member@example.com");
     }
 }
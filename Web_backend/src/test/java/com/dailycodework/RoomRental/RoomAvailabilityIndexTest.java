@@ -0,0 +1,109 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex availabilityIndex;
+
+    private final LocalDate today = LocalDate.of(2024, 5, 10);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(availabilityIndex, "enabled", true);
+        when(roomRepository.findAllRoomTypeViews()).thenReturn(List.of());
+        when(bookingRepository.findAllBookingIntervals()).thenReturn(List.of());
+    }
+
+    @Test
+    void isWarm_OnlyAfterLoad() {
+        assertFalse(availabilityIndex.isWarm());
+
+        availabilityIndex.load();
+
+        assertTrue(availabilityIndex.isWarm());
+        verify(bookingRepository, times(1)).findAllBookingIntervals();
+    }
+
+    @Test
+    void findAvailableRoomIds_ExcludesOverlappingBookings() {
+        availabilityIndex.addRoom(1L, "Single");
+        availabilityIndex.addRoom(2L, "Single");
+        availabilityIndex.addBooking(10L, 1L, today, today.plusDays(3));
+
+        List<Long> result = availabilityIndex.findAvailableRoomIds(today.plusDays(1), today.plusDays(2), "Single");
+
+        assertEquals(List.of(2L), result);
+    }
+
+    @Test
+    void findAvailableRoomIds_ChecksLongStaysStartingBeforeTheSearch() {
+        availabilityIndex.addRoom(1L, "Single");
+        availabilityIndex.addBooking(10L, 1L, today.minusDays(30), today.plusDays(30));
+        availabilityIndex.addBooking(11L, 1L, today.plusDays(40), today.plusDays(41));
+
+        assertTrue(availabilityIndex.findAvailableRoomIds(today, today.plusDays(1), "Single").isEmpty());
+        assertEquals(List.of(1L), availabilityIndex.findAvailableRoomIds(today.plusDays(32), today.plusDays(35), "Single"));
+    }
+
+    @Test
+    void findAvailableRoomIds_NothingForAnInvalidStay() {
+        availabilityIndex.addRoom(1L, "Single");
+
+        assertTrue(availabilityIndex.findAvailableRoomIds(today.plusDays(2), today, "Single").isEmpty());
+        assertTrue(availabilityIndex.findAvailableRoomIds(today, today, "Single").isEmpty());
+    }
+
+    @Test
+    void findAvailableRoomIds_MatchesRoomTypeLikeTheQuery() {
+        availabilityIndex.addRoom(1L, "Double Deluxe");
+        availabilityIndex.addRoom(2L, "Single");
+
+        List<Long> result = availabilityIndex.findAvailableRoomIds(today, today.plusDays(1), "deluxe");
+
+        assertEquals(List.of(1L), result);
+    }
+
+    @Test
+    void removeBooking_FreesTheRoom() {
+        availabilityIndex.addRoom(1L, "Single");
+        availabilityIndex.addBooking(10L, 1L, today, today.plusDays(3));
+
+        availabilityIndex.removeBooking(10L);
+
+        assertEquals(List.of(1L), availabilityIndex.findAvailableRoomIds(today, today.plusDays(3), "Single"));
+    }
+
+    @Test
+    void removeRoom_DropsItFromSearches() {
+        availabilityIndex.addRoom(1L, "Single");
+        availabilityIndex.addBooking(10L, 1L, today, today.plusDays(3));
+
+        availabilityIndex.removeRoom(1L);
+        availabilityIndex.removeBooking(10L);
+
+        assertTrue(availabilityIndex.findAvailableRoomIds(today, today.plusDays(1), "Single").isEmpty());
+    }
+}
@@ -0,0 +1,231 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.config.CacheConfig;
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.IRoomService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.reset;
+
+@SpringBootTest
+class RoomCacheTest {
+
+    @Autowired
+    private IRoomService roomService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomIds.forEach(roomService::deleteRoom);
+    }
+
+    @Test
+    void getAllRoomTypes_IsServedFromCacheAfterFirstCall() throws Exception {
+        addRoom("Cached Suite");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        double hitsBefore = roomTypeHits();
+
+        assertTrue(roomService.getAllRoomTypes().contains("Cached Suite"));
+        roomService.getAllRoomTypes();
+        roomService.getAllRoomTypes();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, roomTypeHits() - hitsBefore);
+    }
+
+    @Test
+    void updateRoom_EvictsCachedRoomAndRoomTypes() throws Exception {
+        Long roomId = addRoom("Before");
+        assertEquals("Before", roomService.getRoomById(roomId).get().getRoomType());
+        assertTrue(roomService.getAllRoomTypes().contains("Before"));
+
+        roomService.updateRoom(roomId, "After", null, null);
+
+        assertEquals("After", roomService.getRoomById(roomId).get().getRoomType());
+        assertTrue(roomService.getAllRoomTypes().contains("After"));
+        assertFalse(roomService.getAllRoomTypes().contains("Before"));
+    }
+
+    @Test
+    void addNewRoom_EvictsRoomList() throws Exception {
+        int before = roomService.getAllRoomsWithBookings().size();
+
+        addRoom("Listed");
+
+        assertEquals(before + 1, roomService.getAllRoomsWithBookings().size());
+    }
+
+    @Test
+    void cachedRooms_AreDetachedCopies() throws Exception {
+        Long roomId = addRoom("Detached");
+
+        Room byId = roomService.getRoomById(roomId).get();
+        Room listed = roomService.getAllRoomsWithBookings().stream()
+                .filter(room -> room.getId().equals(roomId)).findFirst().orElseThrow();
+
+        assertEquals("Detached", byId.getRoomType());
+        assertFalse(byId.getBookings() instanceof PersistentCollection);
+        assertFalse(listed.getBookings() instanceof PersistentCollection);
+        assertEquals(Room.class, byId.getClass());
+    }
+
+    @Test
+    void concurrentReadsDuringWrites_ConvergeToLastWrite() throws Exception {
+        Long roomId = addRoom("Type-0");
+        int writes = 50;
+        int readers = 8;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(readers + 1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    roomService.getRoomById(roomId);
+                    roomService.getAllRoomTypes();
+                    roomService.getAllRoomsWithBookings();
+                }
+                return null;
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            start.await();
+            try {
+                for (int i = 1; i <= writes; i++) {
+                    roomService.updateRoom(roomId, "Type-" + i, BigDecimal.valueOf(100 + i), null);
+                }
+            } finally {
+                writing.set(false);
+            }
+            return null;
+        }));
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        String last = "Type-" + writes;
+        assertEquals(last, roomService.getRoomById(roomId).get().getRoomType());
+        assertTrue(roomService.getAllRoomTypes().contains(last));
+        assertFalse(roomService.getAllRoomTypes().contains("Type-" + (writes - 1)));
+        Room listed = roomService.getAllRoomsWithBookings().stream()
+                .filter(room -> room.getId().equals(roomId)).findFirst().orElseThrow();
+        assertEquals(last, listed.getRoomType());
+    }
+
+    @Test
+    void loadOverlappingAWrite_IsNotServedAfterTheWrite() throws Exception {
+        Long roomId = addRoom("Before");
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        // The spy of a repository proxy delegates to the real repository through its default answer
+        Answer<?> repository = mockingDetails(roomRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object staleTypes = repository.answer(invocation);
+            loaded.countDown();
+            written.await(10, TimeUnit.SECONDS);
+            return staleTypes;
+        }).doAnswer(repository).when(roomRepository).findDistinctRoomTypes();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<String>> staleLoad = pool.submit(roomService::getAllRoomTypes);
+            assertTrue(loaded.await(10, TimeUnit.SECONDS));
+
+            roomService.updateRoom(roomId, "After", null, null);
+            written.countDown();
+
+            assertTrue(staleLoad.get(10, TimeUnit.SECONDS).contains("Before"));
+            assertTrue(roomService.getAllRoomTypes().contains("After"));
+            assertFalse(roomService.getAllRoomTypes().contains("Before"));
+        } finally {
+            pool.shutdown();
+            reset(roomRepository);
+        }
+    }
+
+    @Test
+    void bookingMadeOnAnotherNode_IsListedOnceTheSharedVersionMoves() throws Exception {
+        Long roomId = addRoom("Shared");
+        assertTrue(bookingsOf(roomId).isEmpty());
+
+        // another node's booking: the row and the shared version change, this node's caches are untouched
+        jdbcTemplate.update("INSERT INTO booked_room (booking_id, check_in, check_out, adults, children, total_guest, " +
+                "confirmation_code, room_id) VALUES (?, ?, ?, 1, 0, 1, ?, ?)",
+                900_000 + roomId, LocalDate.of(2035, 6, 1), LocalDate.of(2035, 6, 3), "NODEB" + roomId, roomId);
+        assertTrue(bookingsOf(roomId).isEmpty());
+        jdbcTemplate.update("UPDATE catalogue_version SET version = version + 1 WHERE id = 1");
+
+        assertEquals(1, bookingsOf(roomId).size());
+        jdbcTemplate.update("DELETE FROM booked_room WHERE room_id = ?", roomId);
+    }
+
+    private List<BookedRoom> bookingsOf(Long roomId) {
+        return roomService.getAllRoomsWithBookings().stream()
+                .filter(room -> room.getId().equals(roomId)).findFirst().orElseThrow().getBookings();
+    }
+
+    private double roomTypeHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.ROOM_TYPES).tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private Long addRoom(String roomType) throws Exception {
+        Room room = roomService.addNewRoom(null, roomType, BigDecimal.valueOf(100));
+        roomIds.add(room.getId());
+        return room.getId();
+    }
+}
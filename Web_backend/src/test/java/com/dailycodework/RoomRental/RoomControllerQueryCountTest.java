@@ -0,0 +1,89 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RoomControllerQueryCountTest {
+
+    private static final int ROOMS = 6;
+    private static final int BOOKINGS_PER_ROOM = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        // Rows are inserted through the repositories, bypassing the service-level evictions.
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        LocalDate checkIn = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomType("Single");
+            room.setRoomPrice(BigDecimal.valueOf(100 + i));
+            room = roomRepository.save(room);
+            for (int j = 0; j < BOOKINGS_PER_ROOM; j++) {
+                BookedRoom booking = new BookedRoom();
+                booking.setCheckInDate(checkIn.plusDays(j * 3L));
+                booking.setCheckOutDate(checkIn.plusDays(j * 3L + 2));
+                booking.setGuestEmail("guest" + j + "@example.com");
+                booking.setBookingConfirmationCode("QC" + i + j);
+                booking.setRoom(room);
+                bookingRepository.save(booking);
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void getAllRooms_LoadsRoomsAndBookingsInOneStatement() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/rooms/all-rooms").param("view", "detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROOMS))
+                .andExpect(jsonPath("$[0].bookings.length()").value(BOOKINGS_PER_ROOM));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
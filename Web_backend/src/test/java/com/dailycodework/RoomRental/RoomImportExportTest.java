@@ -0,0 +1,205 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.model.BookedRoom;
+import com.dailycodework.RoomRental.model.Room;
+import com.dailycodework.RoomRental.repository.BookingRepository;
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RoomImportExportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CatalogueVersion catalogueVersion;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void csvImport_SavesValidRowsInBatchesAndReportsBadLines() throws Exception {
+        String eTag = catalogueVersion.current().getETag();
+        String csv = """
+                roomType,roomPrice
+                Single,100
+                "Suite, sea view",350.50
+
+                Double,not-a-number
+                Family,180
+                Twin,120.00
+                """;
+
+        List<JsonNode> report = importRooms("text/csv", csv, 2);
+
+        JsonNode error = report.stream().filter(line -> line.has("error")).findFirst().orElseThrow();
+        assertEquals(5, error.get("line").asLong());
+        assertTrue(error.get("error").asText().contains("roomPrice"));
+        assertEquals(3, report.stream().filter(line -> line.has("imported")).count());
+        JsonNode summary = report.get(report.size() - 1);
+        assertTrue(summary.get("done").asBoolean());
+        assertEquals(4, summary.get("imported").asLong());
+        assertEquals(1, summary.get("rejected").asLong());
+        assertEquals(7, summary.get("linesRead").asLong());
+        assertEquals(List.of("Single", "Suite, sea view", "Family", "Twin"),
+                roomRepository.findAll().stream().map(Room::getRoomType).toList());
+        assertNotEquals(eTag, catalogueVersion.current().getETag());
+    }
+
+    @Test
+    void ndjsonImport_ReportsMalformedAndInvalidLines() throws Exception {
+        String ndjson = """
+                {"roomType":"Single","roomPrice":95.5}
+                {"roomType":"Double","roomPrice":
+                {"roomType":"","roomPrice":120}
+                {"roomType":"Double","roomPrice":"130"}
+                """;
+
+        List<JsonNode> report = importRooms("application/x-ndjson", ndjson, null);
+
+        List<Long> badLines = report.stream().filter(line -> line.has("error")).map(line -> line.get("line").asLong()).toList();
+        assertEquals(List.of(2L, 3L), badLines);
+        assertEquals(2, report.get(report.size() - 1).get("imported").asLong());
+        assertEquals(2, roomRepository.count());
+    }
+
+    @Test
+    void csvImport_WithoutRequiredHeader_ImportsNothing() throws Exception {
+        List<JsonNode> report = importRooms("text/csv", "type,price\nSingle,100\n", null);
+
+        assertEquals(1, report.get(0).get("line").asLong());
+        assertEquals(0, report.get(report.size() - 1).get("imported").asLong());
+        assertEquals(0, roomRepository.count());
+    }
+
+    @Test
+    void export_StreamsRoomsAsCsvAndBookingsAsNdjson() throws Exception {
+        Room room = new Room();
+        room.setRoomType("Suite, \"deluxe\"");
+        room.setRoomPrice(BigDecimal.valueOf(420));
+        room = roomRepository.save(room);
+        BookedRoom booking = new BookedRoom();
+        booking.setCheckInDate(LocalDate.of(2036, 4, 1));
+        booking.setCheckOutDate(LocalDate.of(2036, 4, 3));
+        booking.setGuestFullName("Export Guest");
+        booking.setGuestEmail("export@example.com");
+        booking.setNumOfAdults(2);
+        booking.setBookingConfirmationCode("EXPORT0001");
+        booking.setRoom(room);
+        bookingRepository.save(booking);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult rooms = stream(get("/rooms/export").header(HttpHeaders.AUTHORIZATION, adminToken()));
+        assertEquals("text/csv", rooms.getResponse().getContentType());
+        assertEquals(List.of("id,roomType,roomPrice,booked", room.getId() + ",\"Suite, \"\"deluxe\"\"\",420.00,false"),
+                rooms.getResponse().getContentAsString().lines().toList());
+
+        MvcResult bookings = stream(get("/bookings/export").param("format", "ndjson")
+                .header(HttpHeaders.AUTHORIZATION, adminToken()));
+        List<String> lines = bookings.getResponse().getContentAsString().lines().toList();
+        assertEquals(1, lines.size());
+        JsonNode exported = objectMapper.readTree(lines.get(0));
+        assertEquals(room.getId(), exported.get("roomId").asLong());
+        assertEquals("2036-04-01", exported.get("checkInDate").asText());
+        assertEquals("EXPORT0001", exported.get("bookingConfirmationCode").asText());
+        assertEquals(0, statistics.getEntityLoadCount(), "exports should stream projections, not entities");
+    }
+
+    @Test
+    void importAndExport_RequireAdmin() throws Exception {
+        mockMvc.perform(get("/bookings/export")).andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/rooms/import").contentType("text/csv").content("roomType,roomPrice\n"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/rooms/export").header(HttpHeaders.AUTHORIZATION, userToken()))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<JsonNode> importRooms(String contentType, String body, Integer batchSize) throws Exception {
+        var request = post("/rooms/import").contentType(contentType).content(body)
+                .header(HttpHeaders.AUTHORIZATION, adminToken());
+        if (batchSize != null) {
+            request.param("batchSize", batchSize.toString());
+        }
+        MvcResult result = stream(request);
+        assertEquals("application/x-ndjson", result.getResponse().getContentType());
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().lines().toList()) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private MvcResult stream(RequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_TYPE))
+                .andReturn();
+    }
+
+    private String adminToken() {
+        return tokenFor("admin@example.com", "ROLE_ADMIN");
+    }
+
+    private String userToken() {
+        return tokenFor("guest@example.com", "ROLE_USER");
+    }
+
+    private String tokenFor(String email, String role) {
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(1L, email, List.of(role));
+        return "Bearer " + jwtUtils.generateJwtTokenForUser(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.IRoomService;
+import com.dailycodework.RoomRental.storage.PhotoHash;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RoomPhotoEndpointTest {
+
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IRoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @AfterEach
+    void tearDown() {
+        roomRepository.deleteAll();
+    }
+
+    @Test
+    void getRoomPhoto_StreamsBytesWithCachingHeaders() throws Exception {
+        Long roomId = saveRoomWithPhoto();
+
+        MvcResult result = mockMvc.perform(get("/rooms/{roomId}/photo", roomId).param("v", PhotoHash.of(PNG)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + PhotoHash.of(PNG) + "\""))
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(header().longValue("Content-Length", PNG.length))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(content().bytes(PNG));
+    }
+
+    @Test
+    void getRoomPhoto_NotModifiedWhenETagMatches() throws Exception {
+        Long roomId = saveRoomWithPhoto();
+
+        mockMvc.perform(get("/rooms/{roomId}/photo", roomId).header("If-None-Match", "\"" + PhotoHash.of(PNG) + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getAvailableRooms_ReturnsPhotoUrlInsteadOfBytes() throws Exception {
+        Long roomId = saveRoomWithPhoto();
+
+        mockMvc.perform(get("/rooms/available-rooms")
+                        .param("checkInDate", "2031-01-01")
+                        .param("checkOutDate", "2031-01-03")
+                        .param("roomType", "Suite"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].photo").doesNotExist())
+                .andExpect(jsonPath("$[0].photoUrl").value("/rooms/" + roomId + "/photo?v=" + PhotoHash.of(PNG)));
+    }
+
+    @Test
+    void getAvailableRooms_RejectsCheckOutBeforeCheckIn() throws Exception {
+        saveRoomWithPhoto();
+
+        mockMvc.perform(get("/rooms/available-rooms")
+                        .param("checkInDate", "2031-01-03")
+                        .param("checkOutDate", "2031-01-01")
+                        .param("roomType", "Suite"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long saveRoomWithPhoto() throws Exception {
+        Long roomId = roomService.addNewRoom(null, "Suite", BigDecimal.valueOf(250)).getId();
+        roomService.updateRoom(roomId, null, null, PNG);
+        return roomId;
+    }
+}
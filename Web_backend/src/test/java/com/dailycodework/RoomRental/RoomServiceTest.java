@@ -2,7 +2,11 @@ package com.dailycodework.RoomRental;
 
 import com.dailycodework.RoomRental.model.Room;
 import com.dailycodework.RoomRental.repository.RoomRepository;
+import com.dailycodework.RoomRental.service.CatalogueVersion;
+import com.dailycodework.RoomRental.service.RoomAvailabilityIndex;
 import com.dailycodework.RoomRental.service.RoomService;
+import com.dailycodework.RoomRental.storage.PhotoStore;
+import com.dailycodework.RoomRental.storage.PhotoVariantService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,7 +17,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +31,18 @@ class RoomServiceTest {
     @Mock
     private RoomRepository roomRepository;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private PhotoStore photoStore;
+
+    @Mock
+    private PhotoVariantService photoVariantService;
+
+    @Mock
+    private CatalogueVersion catalogueVersion;
+
     @InjectMocks
     private RoomService roomService;
 
@@ -89,19 +104,39 @@ class RoomServiceTest {
     }
 
     @Test
-    void getRoomPhotoByRoomId_Success() throws SQLException {
+    void getRoomPhotoByRoomId_Success() throws IOException {
         Long roomId = 1L;
         Room room = new Room();
         room.setId(roomId);
-        Blob photoBlob = null; // mock blob
-        room.setPhoto(photoBlob);
+        room.setPhotoHash(null); // room without photo
 
         when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
 
         byte[] result = roomService.getRoomPhotoByRoomId(roomId);
 
-        assertNull(result); // As photoBlob is null
+        assertNull(result); // As the room has no photo
         verify(roomRepository, times(1)).findById(roomId);
+        verify(photoStore, never()).read(any());
+    }
+
+    @Test
+    void updateRoom_StoresPhotoByContentHash() throws IOException {
+        Long roomId = 1L;
+        byte[] photoBytes = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F', 0};
+
+        Room room = new Room();
+        room.setId(roomId);
+
+        when(roomRepository.findById(roomId)).thenReturn(Optional.of(room));
+        when(roomRepository.save(any(Room.class))).thenReturn(room);
+        when(photoStore.save(photoBytes)).thenReturn("abc123");
+
+        Room updatedRoom = roomService.updateRoom(roomId, null, null, photoBytes);
+
+        assertEquals("abc123", updatedRoom.getPhotoHash());
+        assertEquals("image/jpeg", updatedRoom.getPhotoContentType());
+        verify(photoStore, times(1)).save(photoBytes);
+        verify(photoVariantService, times(1)).submit("abc123", photoBytes);
     }
 
     @Test
@@ -0,0 +1,96 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.storage.FileSystemPhotoStore;
+import com.dailycodework.RoomRental.storage.PhotoHash;
+import com.dailycodework.RoomRental.storage.RoomPhotoMigration;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrations_AreAppliedInOrder() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" = TRUE ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertEquals(List.of("1", "1.1", "1.2", "1.3", "1.4", "2"), versions.subList(0, 6));
+    }
+
+    @Test
+    void upgradeFromPreFlywaySchema_MovesPhotosAndDeduplicates(@TempDir Path photos) throws IOException {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3};
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:upgrade;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .javaMigrations(new RoomPhotoMigration("filesystem", photos.toString()));
+        configuration.target(MigrationVersion.fromVersion("1")).load().migrate();
+        JdbcTemplate legacy = new JdbcTemplate(dataSource);
+        legacy.update("INSERT INTO room (id, room_type, room_price, is_booked, photo) VALUES (1, 'Suite', 100, 0, ?)", (Object) png);
+        legacy.update("INSERT INTO booked_room (booking_id, confirmation_code, room_id) VALUES (1, '1234567890', 1), (2, '1234567890', 1)");
+        legacy.update("INSERT INTO user (id, email) VALUES (1, 'dup@example.com'), (2, 'dup@example.com')");
+
+        configuration.target(MigrationVersion.LATEST).load().migrate();
+
+        String hash = PhotoHash.of(png);
+        assertEquals(hash, legacy.queryForObject("SELECT photo_hash FROM room WHERE id = 1", String.class));
+        assertEquals("image/png", legacy.queryForObject("SELECT photo_content_type FROM room WHERE id = 1", String.class));
+        assertArrayEquals(png, new FileSystemPhotoStore(photos.toString()).read(hash));
+        assertEquals(List.of("1234567890", "1234567890-2"), legacy.queryForList(
+                "SELECT confirmation_code FROM booked_room ORDER BY booking_id", String.class));
+        assertEquals(List.of("dup@example.com", "duplicate-2-dup@example.com"), legacy.queryForList(
+                "SELECT email FROM user ORDER BY id", String.class));
+        legacy.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void bookingLookupIndexes_Exist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) IN ('booked_room', 'user')",
+                String.class);
+
+        assertTrue(indexes.contains("uk_booked_room_confirmation_code"));
+        assertTrue(indexes.contains("uk_user_email"));
+        assertTrue(indexes.contains("idx_booked_room_room_dates"));
+        assertTrue(indexes.contains("idx_booked_room_guest_email"));
+    }
+
+    @Test
+    void idSequences_StepByTheAllocationSize() {
+        List<String> sequences = jdbcTemplate.queryForList(
+                "SELECT LOWER(sequence_name) FROM information_schema.sequences WHERE increment = 50",
+                String.class);
+
+        assertTrue(sequences.containsAll(List.of("room_seq", "booked_room_seq", "user_seq", "role_seq", "outbox_event_seq")));
+    }
+
+    @Test
+    void duplicateUserEmail_IsRejected() {
+        jdbcTemplate.update("INSERT INTO user (id, first_name, last_name, email, password) VALUES (NEXT VALUE FOR user_seq, 'A', 'B', 'dup@example.com', 'x')");
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO user (id, first_name, last_name, email, password) VALUES (NEXT VALUE FOR user_seq, 'C', 'D', 'dup@example.com', 'y')"));
+
+        jdbcTemplate.update("DELETE FROM user WHERE email = 'dup@example.com'");
+    }
+}
@@ -0,0 +1,30 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.config.SlowQuerySampler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQuerySamplerTest {
+
+    @Test
+    void admit_KeepsAtMostMaxPerSecond() {
+        SlowQuerySampler sampler = new SlowQuerySampler();
+        sampler.setMaxPerSecond(2);
+
+        assertTrue(sampler.admit(10_000));
+        assertTrue(sampler.admit(10_400));
+        assertFalse(sampler.admit(10_999));
+        assertTrue(sampler.admit(11_000));
+    }
+
+    @Test
+    void admit_WithoutLimit_KeepsEverything() {
+        SlowQuerySampler sampler = new SlowQuerySampler();
+        sampler.setMaxPerSecond(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sampler.admit(10_000));
+        }
+    }
+}
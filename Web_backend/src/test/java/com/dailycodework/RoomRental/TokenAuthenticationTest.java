@@ -0,0 +1,133 @@
+package com.dailycodework.RoomRental;
+
+import com.dailycodework.RoomRental.security.jwt.JwtUtils;
+import com.dailycodework.RoomRental.security.jwt.TokenPrincipalResolver;
+import com.dailycodework.RoomRental.security.user.HotelUserDetails;
+import com.dailycodework.RoomRental.security.user.HotelUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void authenticatedRequest_DoesNotLoadTheUser() throws Exception {
+        String token = tokenFor(42L, "admin@example.com", "ROLE_ADMIN");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/actuator/caches").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void rolesClaim_DrivesAuthorization() throws Exception {
+        String token = tokenFor(7L, "user@example.com", "ROLE_USER");
+
+        mockMvc.perform(get("/actuator/caches").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tamperedToken_IsNotAuthenticated() throws Exception {
+        String token = tokenFor(42L, "admin@example.com", "ROLE_ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        mockMvc.perform(get("/actuator/caches").header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void claimsMode_FallsBackToLookupForTokensWithoutUserId() {
+        HotelUserDetailsService userDetailsService = mock(HotelUserDetailsService.class);
+        UserDetails stored = HotelUserDetails.buildUserDetails(1L, "old@example.com", List.of("ROLE_USER"));
+        when(userDetailsService.loadUserByUsername("old@example.com")).thenReturn(stored);
+        TokenPrincipalResolver resolver = new TokenPrincipalResolver(userDetailsService, "claims", Duration.ZERO, 10);
+
+        Claims claims = Jwts.claims(Map.of("roles", List.of("ROLE_USER")));
+        claims.setSubject("old@example.com");
+
+        assertSame(stored, resolver.resolve(claims));
+    }
+
+    @Test
+    void lookupMode_CachesPrincipalUntilEvicted() {
+        HotelUserDetailsService userDetailsService = mock(HotelUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("user@example.com"))
+                .thenReturn(HotelUserDetails.buildUserDetails(7L, "user@example.com", List.of("ROLE_USER")));
+        TokenPrincipalResolver resolver = new TokenPrincipalResolver(userDetailsService, "lookup", Duration.ofSeconds(30), 10);
+        Claims claims = Jwts.claims(Map.of("roles", List.of("ROLE_USER"), "uid", 7));
+        claims.setSubject("user@example.com");
+
+        resolver.resolve(claims);
+        resolver.resolve(claims);
+        resolver.evict("user@example.com");
+        resolver.resolve(claims);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("user@example.com");
+    }
+
+    @Test
+    void evictInsideATransaction_TakesEffectAfterCommit() {
+        HotelUserDetailsService userDetailsService = mock(HotelUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername("user@example.com"))
+                .thenReturn(HotelUserDetails.buildUserDetails(7L, "user@example.com", List.of("ROLE_ADMIN")));
+        TokenPrincipalResolver resolver = new TokenPrincipalResolver(userDetailsService, "lookup", Duration.ofMinutes(5), 100);
+        Claims claims = Jwts.claims(Map.of("roles", List.of("ROLE_ADMIN"), "uid", 7));
+        claims.setSubject("user@example.com");
+        resolver.resolve(claims);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resolver.evict("user@example.com");
+            resolver.resolve(claims);
+            verify(userDetailsService, times(1)).loadUserByUsername("user@example.com");
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        resolver.resolve(claims);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("user@example.com");
+    }
+
+    private String tokenFor(Long id, String email, String role) {
+        HotelUserDetails principal = HotelUserDetails.buildUserDetails(id, email, List.of(role));
+        return jwtUtils.generateJwtTokenForUser(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
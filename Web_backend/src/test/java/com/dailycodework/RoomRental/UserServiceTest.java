@@ -5,6 +5,7 @@ import com.dailycodework.RoomRental.model.Role;
 import com.dailycodework.RoomRental.model.User;
 import com.dailycodework.RoomRental.repository.RoleRepository;
 import com.dailycodework.RoomRental.repository.UserRepository;
+import com.dailycodework.RoomRental.security.jwt.TokenPrincipalResolver;
 import com.dailycodework.RoomRental.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,9 @@ class UserServiceTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private TokenPrincipalResolver principalResolver;
+
     @InjectMocks
     private UserService userService;
 
@@ -108,6 +112,7 @@ class UserServiceTest {
         userService.deleteUser(email);
 
         verify(userRepository, times(1)).deleteByEmail(email);
+        verify(principalResolver, times(1)).evict(email);
     }
 
     @Test
@@ -0,0 +1,17 @@
+package com.dailycodework.RoomRental;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * {@link HttpLoadTest} with Tomcat requests on virtual threads. Running the loadtest profile on
+ * Java 21+ executes both classes against the same seed and mix, so the two reports in
+ * {@code target} compare the thread modes directly, e.g. for the paged catalogue alone:
+ * {@code mvn -P loadtest test -Dloadtest.clients=1000 -Dloadtest.mix.rooms-page=100
+ * -Dloadtest.mix.available-rooms=0 -Dloadtest.mix.booking=0 -Dloadtest.mix.login=0}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@TestPropertySource(properties = "app.virtual-threads.enabled=true")
+class VirtualThreadHttpLoadTest extends HttpLoadTest {
+}
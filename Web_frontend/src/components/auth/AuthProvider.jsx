@@ -1,27 +1,36 @@
 import React, { createContext, useState, useContext } from "react"
 import jwt_decode from "jwt-decode"
+import { logoutUser } from "../utils/ApiFunctions"
 
 export const AuthContext = createContext({
 	user: null,
-	handleLogin: (token) => {},
+	handleLogin: (token, refreshToken) => {},
 	handleLogout: () => {}
 })
 
 export const AuthProvider = ({ children }) => {
 	const [user, setUser] = useState(null)
 
-	const handleLogin = (token) => {
+	const handleLogin = (token, refreshToken) => {
 		const decodedUser = jwt_decode(token)
 		localStorage.setItem("userId", decodedUser.sub)
 		localStorage.setItem("userRole", decodedUser.roles)
 		localStorage.setItem("token", token)
+		if (refreshToken) {
+			localStorage.setItem("refreshToken", refreshToken)
+		}
 		setUser(decodedUser)
 	}
 
 	const handleLogout = () => {
+		const refreshToken = localStorage.getItem("refreshToken")
+		if (refreshToken) {
+			logoutUser(refreshToken)
+		}
 		localStorage.removeItem("userId")
 		localStorage.removeItem("userRole")
 		localStorage.removeItem("token")
+		localStorage.removeItem("refreshToken")
 		setUser(null)
 	}
 
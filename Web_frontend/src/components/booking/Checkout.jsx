@@ -11,7 +11,7 @@ import {
 } from "react-icons/fa"
 
 import { useParams } from "react-router-dom"
-import { getRoomById } from "../utils/ApiFunctions"
+import { getRoomById, getRoomPhotoSrc } from "../utils/ApiFunctions"
 import RoomCarousel from "../common/RoomCarousel"
 
 const Checkout = () => {
@@ -51,7 +51,7 @@ const Checkout = () => {
 						) : (
 							<div className="room-info">
 								<img
-									src={`data:image/png;base64,${roomInfo.photo}`}
+									src={getRoomPhotoSrc(roomInfo, "medium")}
 									alt="Room photo"
 									style={{ width: "100%", height: "200px" }}
 								/>
@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from "react"
-import { getAllRooms } from "../utils/ApiFunctions"
+import { getAllRooms, getRoomPhotoSrc } from "../utils/ApiFunctions"
 import { Link } from "react-router-dom"
 import { Card, Carousel, Col, Container, Row } from "react-bootstrap"
 
@@ -45,7 +45,7 @@ const RoomCarousel = () => {
 											<Link to={`/book-room/${room.id}`}>
 												<Card.Img
 													variant="top"
-													src={`data:image/png;base64, ${room.photo}`}
+													src={getRoomPhotoSrc(room, "medium")}
 													alt="Room Photo"
 													className="w-100"
 													style={{ height: "200px" }}
@@ -1,6 +1,6 @@
 import React from "react"
 
-const RoomPaginator = ({ currentPage, totalPages, onPageChange }) => {
+const RoomPaginator = ({ currentPage, totalPages, onPageChange, hasMore = false, onLoadMore }) => {
 	const pageNumbers = Array.from({ length: totalPages }, (_, i) => i + 1)
 	return (
 		<nav aria-label="Page navigation">
@@ -14,6 +14,13 @@ const RoomPaginator = ({ currentPage, totalPages, onPageChange }) => {
 						</button>
 					</li>
 				))}
+				{hasMore && onLoadMore && (
+					<li className="page-item">
+						<button onClick={onLoadMore} className="page-link">
+							More
+						</button>
+					</li>
+				)}
 			</ul>
 		</nav>
 	)
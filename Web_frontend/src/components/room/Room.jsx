@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from "react"
-import { getAllRooms } from "../utils/ApiFunctions"
+import { getRoomsPage } from "../utils/ApiFunctions"
 import RoomCard from "./RoomCard"
 import { Col, Container, Row } from "react-bootstrap"
 import RoomFilter from "../common/RoomFilter"
@@ -12,19 +12,26 @@ const Room = () => {
 	const [currentPage, setCurrentPage] = useState(1)
 	const [roomsPerPage] = useState(6)
 	const [filteredData, setFilteredData] = useState([{ id: "" }])
+	const [nextCursor, setNextCursor] = useState(null)
 
-	useEffect(() => {
+	const loadRooms = (cursor, loaded) => {
 		setIsLoading(true)
-		getAllRooms()
-			.then((data) => {
-				setData(data)
-				setFilteredData(data)
+		getRoomsPage(cursor, roomsPerPage)
+			.then((page) => {
+				const rooms = [...loaded, ...page.items]
+				setData(rooms)
+				setFilteredData(rooms)
+				setNextCursor(page.nextCursor)
 				setIsLoading(false)
 			})
 			.catch((error) => {
 				setError(error.message)
 				setIsLoading(false)
 			})
+	}
+
+	useEffect(() => {
+		loadRooms(null, [])
 	}, [])
 	if (isLoading) {
 		return <div>Loading rooms.....</div>
@@ -37,6 +44,11 @@ const Room = () => {
 		setCurrentPage(pageNumber)
 	}
 
+	const handleLoadMore = () => {
+		setCurrentPage(totalPages + 1)
+		loadRooms(nextCursor, data)
+	}
+
 	const totalPages = Math.ceil(filteredData.length / roomsPerPage)
 
 	const renderRooms = () => {
@@ -59,6 +71,8 @@ const Room = () => {
 						currentPage={currentPage}
 						totalPages={totalPages}
 						onPageChange={handlePageChange}
+						hasMore={nextCursor !== null}
+						onLoadMore={handleLoadMore}
 					/>
 				</Col>
 			</Row>
@@ -71,6 +85,8 @@ const Room = () => {
 						currentPage={currentPage}
 						totalPages={totalPages}
 						onPageChange={handlePageChange}
+						hasMore={nextCursor !== null}
+						onLoadMore={handleLoadMore}
 					/>
 				</Col>
 			</Row>
@@ -1,9 +1,11 @@
 import React, { useContext } from "react";
 import { Card, Col } from "react-bootstrap";
 import { Link } from "react-router-dom";
+import { getRoomPhotoSrc } from "../utils/ApiFunctions";
 
 const RoomCard = ({ room }) => {
   const defaultPhoto = "./assets/images/default-room-image.jpg"; // Path to your default photo
+  const photoSrc = getRoomPhotoSrc(room, "thumbnail");
 
   return (
     <Col key={room.id} className="mb-4" xs={12}>
@@ -11,10 +13,10 @@ const RoomCard = ({ room }) => {
         <Card.Body className="d-flex flex-wrap align-items-center">
           <div className="flex-shrink-0 mr-3 mb-3 mb-md-0">
             <Link to={`/book-room/${room.id}`}>
-              {room.photo ? (
+              {photoSrc ? (
                 <Card.Img
                   variant="top"
-                  src={`data:image/png;base64, ${room.photo}`}
+                  src={photoSrc}
                   alt="Room Photo"
                   style={{ width: "100%", maxWidth: "200px", height: "auto" }}
                 />
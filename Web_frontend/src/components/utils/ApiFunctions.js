@@ -4,6 +4,44 @@ export const api = axios.create({
 	baseURL: "http://localhost:9192"
 })
 
+/* Refresh tokens rotate on use, and presenting an already-rotated one revokes the whole session.
+   Requests that hit 401 together therefore share one in-flight refresh instead of each sending it */
+let refreshInFlight = null
+
+const refreshOnce = (refreshToken) => {
+	if (!refreshInFlight) {
+		refreshInFlight = refreshAccessToken(refreshToken).finally(() => {
+			refreshInFlight = null
+		})
+	}
+	return refreshInFlight
+}
+
+/* Retries a request once with a fresh access token when the current one has expired */
+api.interceptors.response.use(
+	(response) => response,
+	async (error) => {
+		const original = error.config
+		const refreshToken = localStorage.getItem("refreshToken")
+		if (error.response?.status !== 401 || !refreshToken || original._retried || original.url === "/auth/refresh-token") {
+			return Promise.reject(error)
+		}
+		original._retried = true
+		const currentToken = localStorage.getItem("token")
+		if (!refreshInFlight && currentToken && original.headers.Authorization !== `Bearer ${currentToken}`) {
+			/* another request already refreshed while this one was in flight */
+			original.headers.Authorization = `Bearer ${currentToken}`
+			return api(original)
+		}
+		const tokens = await refreshOnce(refreshToken)
+		if (!tokens) {
+			return Promise.reject(error)
+		}
+		original.headers.Authorization = `Bearer ${tokens.token}`
+		return api(original)
+	}
+)
+
 export const getHeader = () => {
 	const token = localStorage.getItem("token")
 	return {
@@ -48,6 +86,17 @@ export async function getAllRooms() {
 	}
 }
 
+/* This function gets one page of rooms, starting after the given cursor */
+export async function getRoomsPage(cursor = null, size = 6) {
+	try {
+		const params = cursor === null ? { size } : { cursor, size }
+		const result = await api.get("/rooms/all-rooms/page", { params })
+		return result.data
+	} catch (error) {
+		throw new Error("Error fetching rooms")
+	}
+}
+
 /* This function deletes a room by the Id */
 export async function deleteRoom(roomId) {
 	try {
@@ -107,6 +156,20 @@ export async function getAllBookings() {
 	}
 }
 
+/* This function gets one page of bookings, starting after the given cursor */
+export async function getBookingsPage(cursor = null, size = 20) {
+	try {
+		const params = cursor === null ? { size } : { cursor, size }
+		const result = await api.get("/bookings/all-bookings/page", {
+			headers: getHeader(),
+			params
+		})
+		return result.data
+	} catch (error) {
+		throw new Error(`Error fetching bookings : ${error.message}`)
+	}
+}
+
 /* This function get booking by the cnfirmation code */
 export async function getBookingByConfirmationCode(confirmationCode) {
 	try {
@@ -140,6 +203,14 @@ export async function getAvailableRooms(checkInDate, checkOutDate, roomType) {
 	return result
 }
 
+/* This function builds the streaming photo url of a room, size is thumbnail, medium or original */
+export function getRoomPhotoSrc(room, size = "original") {
+	if (room.photoUrl) {
+		return `${api.defaults.baseURL}${room.photoUrl}&size=${size}`
+	}
+	return room.photo ? `data:image/png;base64, ${room.photo}` : null
+}
+
 /* This function register a new user */
 export async function registerUser(registration) {
 	try {
@@ -169,6 +240,31 @@ export async function loginUser(login) {
 	}
 }
 
+/* This function exchanges a refresh token for new access and refresh tokens */
+export async function refreshAccessToken(refreshToken) {
+	try {
+		const response = await api.post("/auth/refresh-token", { refreshToken })
+		localStorage.setItem("token", response.data.token)
+		localStorage.setItem("refreshToken", response.data.refreshToken)
+		return response.data
+	} catch (error) {
+		localStorage.removeItem("token")
+		localStorage.removeItem("refreshToken")
+		localStorage.removeItem("userId")
+		localStorage.removeItem("userRole")
+		return null
+	}
+}
+
+/* This function revokes the refresh token on logout */
+export async function logoutUser(refreshToken) {
+	try {
+		await api.post("/auth/logout", { refreshToken })
+	} catch (error) {
+		console.error(error)
+	}
+}
+
 /*  This is function to get the user profile */
 export async function getUserProfile(userId, token) {
 	try {